@@ -0,0 +1,136 @@
+package board;
+
+import java.util.Arrays;
+
+/**
+ * One bit per cell, row-major, with every row starting on a fresh long.
+ */
+public final class BitGrid {
+    private final int rows;
+    private final int cols;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    public BitGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = (cols + 63) >>> 6;
+        this.words = new long[rows * wordsPerRow];
+    }
+
+    private BitGrid(BitGrid other) {
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.wordsPerRow = other.wordsPerRow;
+        this.words = other.words.clone();
+    }
+
+    public BitGrid copy() {
+        return new BitGrid(this);
+    }
+
+    public BitGrid transpose() {
+        BitGrid transposed = new BitGrid(cols, rows);
+        for (int row = 0; row < rows; row++) {
+            for (int col = nextSetInRow(row, 0); col >= 0; col = nextSetInRow(row, col + 1)) {
+                transposed.set(col, row);
+            }
+        }
+        return transposed;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public boolean get(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) return false;
+        return (words[row * wordsPerRow + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    public void set(int row, int col) {
+        words[row * wordsPerRow + (col >>> 6)] |= 1L << col;
+    }
+
+    public void clear(int row, int col) {
+        words[row * wordsPerRow + (col >>> 6)] &= ~(1L << col);
+    }
+
+    public void clearAll() {
+        Arrays.fill(words, 0);
+    }
+
+    public int count() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // Row searches return -1 if there is no set cell; ties go to the lower column
+    public int nextSetInRow(int row, int fromCol) {
+        if (row < 0 || row >= rows || fromCol >= cols) return -1;
+        if (fromCol < 0) fromCol = 0;
+
+        int base = row * wordsPerRow;
+        int index = fromCol >>> 6;
+        long word = words[base + index] & (-1L << fromCol);
+
+        while (word == 0) {
+            if (++index == wordsPerRow) return -1;
+            word = words[base + index];
+        }
+        return (index << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    public int previousSetInRow(int row, int fromCol) {
+        if (row < 0 || row >= rows || fromCol < 0) return -1;
+        if (fromCol >= cols) fromCol = cols - 1;
+
+        int base = row * wordsPerRow;
+        int index = fromCol >>> 6;
+        long word = words[base + index] & (-1L >>> (63 - (fromCol & 63)));
+
+        while (word == 0) {
+            if (--index < 0) return -1;
+            word = words[base + index];
+        }
+        return (index << 6) + 63 - Long.numberOfLeadingZeros(word);
+    }
+
+    public int nearestInRow(int row, int col) {
+        int before = previousSetInRow(row, col);
+        int after = nextSetInRow(row, col);
+
+        if (before < 0) return after;
+        if (after < 0) return before;
+        return col - before <= after - col ? before : after;
+    }
+
+    // Column ranges include both ends
+    public boolean anyInRow(int row, int fromCol, int toCol) {
+        int first = nextSetInRow(row, Math.min(fromCol, toCol));
+        return first >= 0 && first <= Math.max(fromCol, toCol);
+    }
+
+    public int countInRow(int row, int fromCol, int toCol) {
+        int low = Math.max(0, Math.min(fromCol, toCol));
+        int high = Math.min(cols - 1, Math.max(fromCol, toCol));
+        if (row < 0 || row >= rows || low > high) return 0;
+
+        int base = row * wordsPerRow;
+        int count = 0;
+        for (int index = low >>> 6; index <= high >>> 6; index++) {
+            long word = words[base + index];
+            if (index == low >>> 6) word &= -1L << low;
+            if (index == high >>> 6) word &= -1L >>> (63 - (high & 63));
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
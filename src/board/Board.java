@@ -1,39 +1,158 @@
 package board;
 
+/**
+ * One game's view of a shared Maze: the dots and upgrades still left, one bit per cell.
+ */
 public class Board {
+    // Exit bits, indexed like the movement directions (right, down, left, up)
+    public static final int EXIT_RIGHT = 1;
+    public static final int EXIT_DOWN = 1 << 1;
+    public static final int EXIT_LEFT = 1 << 2;
+    public static final int EXIT_UP = 1 << 3;
+
+    private final Maze maze;
     private final int width;
     private final int height;
-    private final char[][] layout;
-    
+    private final BitGrid dots;
+    private final BitGrid dotColumns;
+    private final BitGrid upgrades;
+    private int remainingDots;
+
     public Board(char[][] layout) {
-        this.height = layout.length;
-        this.width = layout[0].length;
-        this.layout = layout;
+        this(new Maze(layout));
+    }
+
+    public Board(Maze maze) {
+        this.maze = maze;
+        this.width = maze.getWidth();
+        this.height = maze.getHeight();
+        this.dots = maze.copyDots();
+        this.dotColumns = maze.copyDotColumns();
+        this.upgrades = new BitGrid(height, width);
+        this.remainingDots = maze.getDotCount();
     }
-    
+
+    public Maze getMaze() {
+        return maze;
+    }
+
     public int getWidth() {
         return width;
     }
-    
+
     public int getHeight() {
         return height;
     }
-    
-    public char[][] getLayout() {
-        return layout;
+
+    public boolean isWalkable(int row, int col) {
+        return maze.isWalkable(row, col);
     }
 
-    public void updateTile(int row, int col, char newTile) {
-        if (row >= 0 && row < height && col >= 0 && col < width) {
-            layout[row][col] = newTile;
-        }
+    public int getExits(int row, int col) {
+        return maze.getExits(row, col);
+    }
+
+    public int cellId(int row, int col) {
+        return maze.cellId(row, col);
+    }
+
+    public int getStep(int direction) {
+        return maze.getStep(direction);
+    }
+
+    public int getExitsAt(int cellId) {
+        return maze.getExitsAt(cellId);
     }
 
     public char getTile(int row, int col) {
-        if (row >= 0 && row < height && col >= 0 && col < width) {
-            return layout[row][col];
+        return hasDot(row, col) ? '.' : maze.getTile(row, col);
+    }
+
+    public boolean hasDot(int row, int col) {
+        return dots.get(row, col);
+    }
+
+    public boolean eatDot(int row, int col) {
+        if (!dots.get(row, col)) return false;
+
+        dots.clear(row, col);
+        dotColumns.clear(col, row);
+        remainingDots--;
+        return true;
+    }
+
+    BitGrid copyDots() {
+        return dots.copy();
+    }
+
+    public int getRemainingDots() {
+        return remainingDots;
+    }
+
+    public int countDots() {
+        return dots.count();
+    }
+
+    public int findNearestDotInRow(int row, int col) {
+        return dots.nearestInRow(row, col);
+    }
+
+    public int findNearestDotInColumn(int row, int col) {
+        return dotColumns.nearestInRow(col, row);
+    }
+
+    /** Returns how many steps away the first dot in a direction is, or -1 if a wall comes first */
+    public int findVisibleDot(int row, int col, int direction) {
+        int found;
+        switch (direction) {
+            case 0:
+                found = dots.nextSetInRow(row, col + 1);
+                return found >= 0 && maze.isOpenRow(row, col, found) ? found - col : -1;
+            case 1:
+                found = dotColumns.nextSetInRow(col, row + 1);
+                return found >= 0 && maze.isOpenColumn(col, row, found) ? found - row : -1;
+            case 2:
+                found = dots.previousSetInRow(row, col - 1);
+                return found >= 0 && maze.isOpenRow(row, found, col) ? col - found : -1;
+            case 3:
+                found = dotColumns.previousSetInRow(col, row - 1);
+                return found >= 0 && maze.isOpenColumn(col, found, row) ? row - found : -1;
+            default:
+                return -1;
         }
-        return ' ';
     }
-}
 
+    public boolean isInLineOfSight(int fromRow, int fromCol, int toRow, int toCol) {
+        if (fromRow == toRow) return maze.isOpenRow(fromRow, fromCol, toCol);
+        if (fromCol == toCol) return maze.isOpenColumn(fromCol, fromRow, toRow);
+        return false;
+    }
+
+    public boolean hasUpgrade(int row, int col) {
+        return upgrades.get(row, col);
+    }
+
+    public void placeUpgrade(int row, int col) {
+        upgrades.set(row, col);
+    }
+
+    public void removeUpgrade(int row, int col) {
+        upgrades.clear(row, col);
+    }
+
+    public void removeAllUpgrades() {
+        upgrades.clearAll();
+    }
+
+    public int getDistance(int fromRow, int fromCol, int toRow, int toCol) {
+        return maze.getDistanceTable().getDistance(fromRow, fromCol, toRow, toCol);
+    }
+
+    public DistanceTable getDistanceTable() {
+        return maze.getDistanceTable();
+    }
+
+    public JunctionGraph getJunctionGraph() {
+        return maze.getJunctionGraph();
+    }
+}
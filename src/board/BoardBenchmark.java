@@ -0,0 +1,157 @@
+package board;
+
+import java.util.SplittableRandom;
+import java.util.function.IntSupplier;
+
+/**
+ * Times the board's bitboard queries against the same queries on a char[][] of tiles.
+ * Usage: BoardBenchmark [map] [tiles] [queries] [seed]
+ */
+public class BoardBenchmark {
+    private static final int ROUNDS = 5;
+    private static final int[] ROW_STEP = {0, 1, 0, -1};
+    private static final int[] COL_STEP = {1, 0, -1, 0};
+
+    public static void main(String[] args) {
+        String mapName = args.length > 0 ? args[0] : "large";
+        int tiles = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        Board map = new BoardManager().getBoard(mapName);
+        if (map == null) {
+            System.err.println("Unknown map " + mapName);
+            return;
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        Board board = new Board(tile(map, tiles));
+        for (int row = 0; row < board.getHeight(); row++) {
+            for (int col = 0; col < board.getWidth(); col++) {
+                if (random.nextBoolean()) board.eatDot(row, col);
+            }
+        }
+
+        char[][] layout = new char[board.getHeight()][board.getWidth()];
+        for (int row = 0; row < board.getHeight(); row++) {
+            for (int col = 0; col < board.getWidth(); col++) {
+                layout[row][col] = board.getTile(row, col);
+            }
+        }
+        System.out.println("Board " + board.getWidth() + "x" + board.getHeight() + ", "
+                + board.getRemainingDots() + " dots left");
+
+        int[] rows = new int[queries], cols = new int[queries], others = new int[queries];
+        for (int i = 0; i < queries; i++) {
+            rows[i] = random.nextInt(board.getHeight());
+            cols[i] = random.nextInt(board.getWidth());
+            others[i] = random.nextInt(board.getWidth());
+        }
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long bits, chars;
+
+            bits = time(() -> board.countDots(), queries / 100);
+            chars = time(() -> countDots(layout), queries / 100);
+            report(round, "count dots", bits, chars, queries / 100);
+
+            bits = time(i -> board.findNearestDotInRow(rows[i], cols[i]), queries);
+            chars = time(i -> nearestDotInRow(layout, rows[i], cols[i]), queries);
+            report(round, "nearest dot in row", bits, chars, queries);
+
+            bits = time(i -> board.findNearestDotInColumn(rows[i], cols[i]), queries);
+            chars = time(i -> nearestDotInColumn(layout, rows[i], cols[i]), queries);
+            report(round, "nearest dot in column", bits, chars, queries);
+
+            bits = time(i -> board.getMaze().isOpenRow(rows[i], cols[i], others[i]) ? 1 : 0, queries);
+            chars = time(i -> isOpenRow(layout, rows[i], cols[i], others[i]) ? 1 : 0, queries);
+            report(round, "open row", bits, chars, queries);
+
+            bits = time(i -> board.findVisibleDot(rows[i], cols[i], i & 3), queries);
+            chars = time(i -> visibleDot(layout, rows[i], cols[i], i & 3), queries);
+            report(round, "visible dot", bits, chars, queries);
+        }
+    }
+
+    private interface Query {
+        int run(int index);
+    }
+
+    // Checksum in the top half, elapsed nanoseconds in the bottom half
+    private static long time(Query query, int count) {
+        long start = System.nanoTime();
+        int checksum = 0;
+        for (int i = 0; i < count; i++) {
+            checksum = checksum * 31 + query.run(i);
+        }
+        return ((long) checksum << 32) | Math.min(System.nanoTime() - start, 0xFFFF_FFFFL);
+    }
+
+    private static long time(IntSupplier query, int count) {
+        return time(i -> query.getAsInt(), count);
+    }
+
+    private static void report(int round, String name, long bits, long chars, int count) {
+        if (bits >>> 32 != chars >>> 32) {
+            throw new IllegalStateException(name + ": bitboard and char[][] answers differ");
+        }
+        System.out.printf("Round %d, %-22s bitboard %8.1f ns, char[][] %8.1f ns per query%n",
+                round, name + ":", (double) (bits & 0xFFFF_FFFFL) / count, (double) (chars & 0xFFFF_FFFFL) / count);
+    }
+
+    private static char[][] tile(Board map, int tiles) {
+        int width = map.getWidth(), height = map.getHeight();
+        char[][] layout = new char[height * tiles][width * tiles];
+        for (int row = 0; row < layout.length; row++) {
+            for (int col = 0; col < layout[row].length; col++) {
+                char tile = map.getTile(row % height, col % width);
+                layout[row][col] = tile == ' ' && map.isWalkable(row % height, col % width) ? '.' : tile;
+            }
+        }
+        return layout;
+    }
+
+    private static int countDots(char[][] layout) {
+        int count = 0;
+        for (char[] row : layout) {
+            for (char tile : row) {
+                if (tile == '.') count++;
+            }
+        }
+        return count;
+    }
+
+    private static int nearestDotInRow(char[][] layout, int row, int col) {
+        int width = layout[row].length;
+        for (int offset = 0; offset < width; offset++) {
+            if (col - offset >= 0 && layout[row][col - offset] == '.') return col - offset;
+            if (col + offset < width && layout[row][col + offset] == '.') return col + offset;
+        }
+        return -1;
+    }
+
+    private static int nearestDotInColumn(char[][] layout, int row, int col) {
+        int height = layout.length;
+        for (int offset = 0; offset < height; offset++) {
+            if (row - offset >= 0 && layout[row - offset][col] == '.') return row - offset;
+            if (row + offset < height && layout[row + offset][col] == '.') return row + offset;
+        }
+        return -1;
+    }
+
+    private static boolean isOpenRow(char[][] layout, int row, int fromCol, int toCol) {
+        for (int col = Math.min(fromCol, toCol); col <= Math.max(fromCol, toCol); col++) {
+            if (!DistanceTable.isWalkable(layout[row][col])) return false;
+        }
+        return true;
+    }
+
+    private static int visibleDot(char[][] layout, int row, int col, int direction) {
+        for (int step = 1; ; step++) {
+            int r = row + ROW_STEP[direction] * step, c = col + COL_STEP[direction] * step;
+            if (r < 0 || r >= layout.length || c < 0 || c >= layout[r].length) return -1;
+            if (!DistanceTable.isWalkable(layout[r][c]) || !DistanceTable.isWalkable(layout[row][col])) return -1;
+            if (layout[r][c] == '.') return step;
+        }
+    }
+}
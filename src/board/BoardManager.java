@@ -1,34 +1,237 @@
 package board;
 
 import java.io.*;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
+/**
+ * Bundled and user maps, loaded on first use. Text maps are compiled once into the map cache.
+ */
 public class BoardManager {
-    private final Map<String, Board> boards = new HashMap<>();
+    private static final String MAPS_RESOURCE = "/assets/maps/";
+    private static final String MAP_EXTENSION = ".txt";
+    private static final String DIRECTORY_GLOB = "*{" + MAP_EXTENSION + "," + MapFile.EXTENSION + "}";
+    private static final String[] BUNDLED_MAPS = {"small", "medium", "large"};
+
+    private static final Map<String, Maze> MAZES = new ConcurrentHashMap<>();
+
+    private final Executor executor;
+    private final Map<String, URL> maps = new LinkedHashMap<>();
+    private final Map<String, CompletableFuture<Maze>> parsed = new ConcurrentHashMap<>();
 
     public BoardManager() {
-        loadBoards();
+        this(Runnable::run);
     }
 
-    private void loadBoards() {
-        String[] files = {"small.txt", "medium.txt", "large.txt"};
+    public BoardManager(Executor executor) {
+        this.executor = executor;
+        discoverBundledMaps();
+        discoverUserMaps();
+    }
 
-        for (String fileName : files) {
-            try (InputStream is = getClass().getResourceAsStream("/assets/maps/" + fileName);
-                 BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
+    private void discoverBundledMaps() {
+        for (String name : BUNDLED_MAPS) {
+            URL url = getClass().getResource(MAPS_RESOURCE + name + MAP_EXTENSION);
+            if (url != null) maps.put(name, url);
+        }
 
-                String name = fileName.replace(".txt", "");
-                List<String> lines = reader.lines().toList();
-                char[][] layout = lines.stream().map(String::toCharArray).toArray(char[][]::new);
-                boards.put(name, new Board(layout));
+        URL directory = getClass().getResource(MAPS_RESOURCE);
+        if (directory == null) return;
 
-            } catch (IOException | NullPointerException e) {
-                e.printStackTrace();
+        SortedSet<String> files = new TreeSet<>();
+        try {
+            if (directory.getProtocol().equals("file")) {
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(directory.toURI()), DIRECTORY_GLOB)) {
+                    stream.forEach(path -> files.add(path.getFileName().toString()));
+                }
+            } else if (directory.getProtocol().equals("jar")) {
+                // Uncached, so closing the jar does not close the one the class loader reads from
+                URLConnection connection = directory.openConnection();
+                connection.setUseCaches(false);
+                String prefix = MAPS_RESOURCE.substring(1);
+                try (JarFile jar = ((JarURLConnection) connection).getJarFile()) {
+                    jar.stream()
+                            .map(JarEntry::getName)
+                            .filter(entry -> entry.startsWith(prefix) && isMapFile(entry)
+                                    && entry.indexOf('/', prefix.length()) < 0)
+                            .forEach(entry -> files.add(entry.substring(prefix.length())));
+                }
             }
+        } catch (IOException | URISyntaxException e) {
+            e.printStackTrace();
         }
+
+        SortedMap<String, URL> others = new TreeMap<>();
+        for (String file : files) {
+            String name = mapName(file);
+            if (!name.isEmpty() && !maps.containsKey(name)) addMap(others, name, getClass().getResource(MAPS_RESOURCE + file));
+        }
+        maps.putAll(others);
+    }
+
+    private void discoverUserMaps() {
+        Path directory = getUserMapsDirectory();
+        if (!Files.isDirectory(directory)) return;
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, DIRECTORY_GLOB)) {
+            SortedMap<String, URL> userMaps = new TreeMap<>();
+            for (Path path : stream) {
+                String name = mapName(path.getFileName().toString());
+                if (!name.isEmpty()) addMap(userMaps, name, path.toUri().toURL());
+            }
+            maps.putAll(userMaps);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public static Path getUserMapsDirectory() {
+        String configured = System.getProperty("pacman.mapsDir");
+        if (configured != null) return Paths.get(configured);
+        return Paths.get(System.getProperty("user.home"), ".pacman", "maps");
+    }
+
+    public static Path getCacheDirectory() {
+        String configured = System.getProperty("pacman.cacheDir");
+        if (configured != null) return Paths.get(configured);
+        return Paths.get(System.getProperty("user.home"), ".pacman", "cache");
+    }
+
+    private static boolean isMapFile(String fileName) {
+        return fileName.endsWith(MAP_EXTENSION) || fileName.endsWith(MapFile.EXTENSION);
+    }
+
+    private static boolean isCompiled(URL url) {
+        return url.getPath().endsWith(MapFile.EXTENSION);
+    }
+
+    private static String mapName(String fileName) {
+        String extension = fileName.endsWith(MapFile.EXTENSION) ? MapFile.EXTENSION : MAP_EXTENSION;
+        return fileName.substring(0, fileName.length() - extension.length());
+    }
+
+    private static void addMap(Map<String, URL> maps, String name, URL url) {
+        maps.merge(name, url, (existing, added) -> isCompiled(existing) ? added : existing);
+    }
+
+    public List<String> getMapNames() {
+        return new ArrayList<>(maps.keySet());
     }
 
     public Board getBoard(String name) {
-        return boards.get(name);
+        try {
+            return getBoardFuture(name).join();
+        } catch (CompletionException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    public CompletableFuture<Board> getBoardFuture(String name) {
+        return getMaze(name).thenApply(maze -> maze != null ? new Board(maze) : null);
+    }
+
+    public CompletableFuture<Void> preloadAll() {
+        return CompletableFuture.allOf(maps.keySet().stream()
+                .map(this::getMaze)
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private CompletableFuture<Maze> getMaze(String name) {
+        URL url = maps.get(name);
+        if (url == null) return CompletableFuture.completedFuture(null);
+
+        return parsed.computeIfAbsent(name, key -> CompletableFuture.supplyAsync(() -> loadMaze(name, url), executor));
+    }
+
+    private Maze loadMaze(String name, URL url) {
+        try {
+            if (isCompiled(url)) return loadCompiledMaze(url);
+
+            byte[] content;
+            try (InputStream is = url.openStream()) {
+                content = is.readAllBytes();
+            }
+            String key = hash(content);
+            return cache(key, () -> compileMaze(name, key, content));
+
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static Maze loadCompiledMaze(URL url) throws IOException, URISyntaxException {
+        if (url.getProtocol().equals("file")) {
+            Path path = Paths.get(url.toURI());
+            String key = path.toAbsolutePath() + "@" + Files.getLastModifiedTime(path).toMillis();
+            return cache(key, () -> MapFile.read(path));
+        }
+
+        byte[] content;
+        try (InputStream is = url.openStream()) {
+            content = is.readAllBytes();
+        }
+        return cache(hash(content), () -> MapFile.read(ByteBuffer.wrap(content)));
+    }
+
+    private interface MazeLoader {
+        Maze load() throws IOException;
+    }
+
+    // Two threads may both load a new key; the first one stored wins
+    private static Maze cache(String key, MazeLoader loader) throws IOException {
+        Maze maze = MAZES.get(key);
+        if (maze != null) return maze;
+
+        maze = loader.load();
+        Maze existing = MAZES.putIfAbsent(key, maze);
+        return existing != null ? existing : maze;
+    }
+
+    private static Maze compileMaze(String name, String hash, byte[] content) {
+        Path cached = getCacheDirectory().resolve(hash + MapFile.EXTENSION);
+        if (Files.isRegularFile(cached)) {
+            try {
+                return MapFile.read(cached);
+            } catch (IOException e) {
+                System.err.println("Ignoring map cache " + cached + ": " + e.getMessage());
+                try {
+                    Files.deleteIfExists(cached);
+                } catch (IOException deleteFailed) {
+                    System.err.println("Could not delete map cache " + cached + ": " + deleteFailed);
+                }
+            }
+        }
+
+        Maze maze = MapCompiler.compile(new String(content, StandardCharsets.UTF_8));
+        try {
+            MapFile.write(maze, cached);
+        } catch (IOException e) {
+            System.err.println("Could not cache map " + name + " in " + cached + ": " + e);
+        }
+        return maze;
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
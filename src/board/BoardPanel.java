@@ -1,120 +1,275 @@
 package board;
 
+import game.GamePanel;
 import game.upgrades.Upgrade;
+import game.upgrades.UpgradeSprites;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
 
+/**
+ * Paints the cells inside the clip, with walls cached in chunk images. Its dots and upgrades
+ * are only changed on the painting thread.
+ */
 public class BoardPanel extends JPanel {
+    private static final long serialVersionUID = 1L;
+    private static final Color WALL_COLOR = new Color(33, 33, 255);
+    private static final Color GATE_COLOR = new Color(255, 140, 0);
+    private static final Font DOT_FONT = new Font("SansSerif", Font.PLAIN, 14);
+    private static final String DOT = "•";
+
+    private static final int CELL_SIZE = GamePanel.CELL_SIZE;
+    private static final int CHUNK_CELLS = 16;
+    private static final int CHUNK_SIZE = CHUNK_CELLS * CELL_SIZE;
+    private static final int CHUNK_MARGIN = 1;
+
     private final Board board;
 
-    private final JPanel[][] cellPanels;
+    private final BitGrid dots;
+    private final Upgrade[][] upgrades;
+    private final UpgradeSprites upgradeSprites = new UpgradeSprites();
+
+    private final int chunkColumns;
+    private final int chunkRows;
+    private final BufferedImage[] chunks;
+    private final long[] chunkLastPainted;
+    private int[] cachedChunks = new int[0];
+    private int cachedChunkCount = 0;
+    private volatile int maxChunks;
+    private long paintCount = 0;
 
     public BoardPanel(Board board) {
         this.board = board;
-        setLayout(new GridLayout(board.getHeight(), board.getWidth(), 0, 0));
+        setLayout(null);
         setBackground(Color.BLACK);
+        setOpaque(true);
         setBorder(null);
 
-        cellPanels = new JPanel[board.getHeight()][board.getWidth()];
-        
-        initializeBoardComponents();
+        dots = board.copyDots();
+        upgrades = new Upgrade[board.getHeight()][board.getWidth()];
+
+        chunkColumns = (board.getWidth() + CHUNK_CELLS - 1) / CHUNK_CELLS;
+        chunkRows = (board.getHeight() + CHUNK_CELLS - 1) / CHUNK_CELLS;
+        chunks = new BufferedImage[chunkColumns * chunkRows];
+        chunkLastPainted = new long[chunks.length];
+        setViewportSize(board.getWidth() * CELL_SIZE, board.getHeight() * CELL_SIZE);
     }
 
-    private void initializeBoardComponents() {
-        char[][] layout = board.getLayout();
+    // May be called from any thread; the cache is resized when the next chunk is built
+    public void setViewportSize(int width, int height) {
+        int columns = Math.min(chunkColumns, chunksAcross(width) + 2 * CHUNK_MARGIN);
+        int rows = Math.min(chunkRows, chunksAcross(height) + 2 * CHUNK_MARGIN);
+        maxChunks = Math.max(1, columns * rows);
+    }
 
-        boolean[][] isWall = new boolean[board.getHeight()][board.getWidth()];
-        for (int row = 0; row < board.getHeight(); row++) {
-            for (int col = 0; col < board.getWidth(); col++) {
-                isWall[row][col] = (layout[row][col] == '|' || layout[row][col] == 'X');
-            }
+    private static int chunksAcross(int pixels) {
+        return (Math.max(0, pixels) + CHUNK_SIZE - 1) / CHUNK_SIZE + 1;
+    }
+
+    private BufferedImage getChunk(int chunk) {
+        chunkLastPainted[chunk] = paintCount;
+        if (chunks[chunk] != null) return chunks[chunk];
+
+        int max = maxChunks;
+        if (cachedChunks.length != max) resizeCache(max);
+
+        BufferedImage image;
+        if (cachedChunkCount < max) {
+            image = createChunkImage();
+            cachedChunks[cachedChunkCount++] = chunk;
+        } else {
+            int slot = leastRecentlyPainted();
+            image = chunks[cachedChunks[slot]];
+            chunks[cachedChunks[slot]] = null;
+            cachedChunks[slot] = chunk;
         }
 
-        for (int row = 0; row < board.getHeight(); row++) {
-            for (int col = 0; col < board.getWidth(); col++) {
-                JPanel cellPanel;
-                char tile = layout[row][col];
+        renderChunk(image, chunk / chunkColumns, chunk % chunkColumns);
+        chunks[chunk] = image;
+        return image;
+    }
 
-                if (tile == '|') {
-                    boolean hasTopWall = (row > 0 && isWall[row-1][col]);
-                    boolean hasRightWall = (col < board.getWidth()-1 && isWall[row][col+1]);
-                    boolean hasBottomWall = (row < board.getHeight()-1 && isWall[row+1][col]);
-                    boolean hasLeftWall = (col > 0 && isWall[row][col-1]);
+    private void resizeCache(int max) {
+        while (cachedChunkCount > max) {
+            int slot = leastRecentlyPainted();
+            chunks[cachedChunks[slot]] = null;
+            cachedChunks[slot] = cachedChunks[--cachedChunkCount];
+        }
+        cachedChunks = Arrays.copyOf(cachedChunks, max);
+    }
 
-                    cellPanel = new WallPanel(hasTopWall, hasRightWall, hasBottomWall, hasLeftWall);
-                }
-                else if (tile == 'X') {
-                    Color orangeColor = new Color(255, 140, 0);
-                    cellPanel = new WallPanel(false, true, false, true, orangeColor);
-                }
-                else if (tile == '.') {
-                    cellPanel = new JPanel(new BorderLayout(0, 0));
-                    cellPanel.setBackground(Color.BLACK);
+    private int leastRecentlyPainted() {
+        int slot = 0;
+        for (int i = 1; i < cachedChunkCount; i++) {
+            if (chunkLastPainted[cachedChunks[i]] < chunkLastPainted[cachedChunks[slot]]) slot = i;
+        }
+        return slot;
+    }
 
-                    JLabel dot = getDotLabel();
-                    cellPanel.add(dot, BorderLayout.CENTER);
-                }
-                else {
-                    cellPanel = new JPanel(new BorderLayout(0, 0));
-                    cellPanel.setBackground(Color.BLACK);
+    private static BufferedImage createChunkImage() {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return config.createCompatibleImage(CHUNK_SIZE, CHUNK_SIZE, Transparency.OPAQUE);
+        }
+        return new BufferedImage(CHUNK_SIZE, CHUNK_SIZE, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private void renderChunk(BufferedImage image, int chunkRow, int chunkCol) {
+        Graphics2D g = image.createGraphics();
+        Maze maze = board.getMaze();
+        int firstRow = chunkRow * CHUNK_CELLS;
+        int firstCol = chunkCol * CHUNK_CELLS;
+
+        try {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+
+            for (int row = firstRow; row < Math.min(firstRow + CHUNK_CELLS, board.getHeight()); row++) {
+                for (int col = firstCol; col < Math.min(firstCol + CHUNK_CELLS, board.getWidth()); col++) {
+                    char tile = maze.getTile(row, col);
+                    int x = (col - firstCol) * CELL_SIZE;
+                    int y = (row - firstRow) * CELL_SIZE;
+
+                    if (tile == '|') {
+                        int walls = maze.getWallMask(row, col);
+                        boolean hasTopWall = (walls & Board.EXIT_UP) != 0;
+                        boolean hasRightWall = (walls & Board.EXIT_RIGHT) != 0;
+                        boolean hasBottomWall = (walls & Board.EXIT_DOWN) != 0;
+                        boolean hasLeftWall = (walls & Board.EXIT_LEFT) != 0;
+
+                        paintWall(g, x, y, hasTopWall, hasRightWall, hasBottomWall, hasLeftWall, WALL_COLOR);
+                    }
+                    else if (tile == 'X') {
+                        paintWall(g, x, y, false, true, false, true, GATE_COLOR);
+                    }
                 }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
 
-                cellPanel.setBorder(null);
+    private void paintWall(Graphics2D g, int x, int y, boolean hasTopWall, boolean hasRightWall,
+                           boolean hasBottomWall, boolean hasLeftWall, Color wallColor) {
+        g.setColor(wallColor);
 
-                cellPanels[row][col] = cellPanel;
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                if (!shouldPaintWall(row, col, hasTopWall, hasRightWall, hasBottomWall, hasLeftWall)) continue;
 
-                add(cellPanel);
+                int left = x + col * CELL_SIZE / 3;
+                int top = y + row * CELL_SIZE / 3;
+                int right = x + (col + 1) * CELL_SIZE / 3;
+                int bottom = y + (row + 1) * CELL_SIZE / 3;
+                g.fillRect(left, top, right - left, bottom - top);
             }
         }
     }
 
-    public void clearDot(int row, int col) {
-        if (row >= 0 && row < board.getHeight() && col >= 0 && col < board.getWidth()) {
-            JPanel cellPanel = cellPanels[row][col];
-            
-            if (cellPanel != null) {
-                cellPanel.removeAll();
+    private boolean shouldPaintWall(int row, int col, boolean hasTopWall, boolean hasRightWall,
+                                    boolean hasBottomWall, boolean hasLeftWall) {
+        if (row == 1 && col == 1) return true;
+
+        if (row == 0 && col == 1) return hasTopWall;
+        if (row == 1 && col == 2) return hasRightWall;
+        if (row == 2 && col == 1) return hasBottomWall;
+        if (row == 1 && col == 0) return hasLeftWall;
 
-                cellPanel.setBackground(Color.BLACK);
+        if (row == 0 && col == 0) return hasTopWall && hasLeftWall;
+        if (row == 0 && col == 2) return hasTopWall && hasRightWall;
+        if (row == 2 && col == 0) return hasBottomWall && hasLeftWall;
+        if (row == 2 && col == 2) return hasBottomWall && hasRightWall;
 
-                cellPanel.revalidate();
-                cellPanel.repaint();
+        return false;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+
+        paintBoard(g, clip);
+    }
+
+    public void paintBoard(Graphics g, Rectangle clip) {
+        paintCount++;
+
+        int firstChunkRow = Math.max(0, clip.y / CHUNK_SIZE);
+        int lastChunkRow = Math.min(chunkRows - 1, (clip.y + clip.height - 1) / CHUNK_SIZE);
+        int firstChunkCol = Math.max(0, clip.x / CHUNK_SIZE);
+        int lastChunkCol = Math.min(chunkColumns - 1, (clip.x + clip.width - 1) / CHUNK_SIZE);
+        for (int chunkRow = firstChunkRow; chunkRow <= lastChunkRow; chunkRow++) {
+            for (int chunkCol = firstChunkCol; chunkCol <= lastChunkCol; chunkCol++) {
+                g.drawImage(getChunk(chunkRow * chunkColumns + chunkCol), chunkCol * CHUNK_SIZE, chunkRow * CHUNK_SIZE, null);
+            }
+        }
+
+        int firstRow = Math.max(0, clip.y / CELL_SIZE);
+        int lastRow = Math.min(board.getHeight() - 1, (clip.y + clip.height) / CELL_SIZE);
+        int firstCol = Math.max(0, clip.x / CELL_SIZE);
+        int lastCol = Math.min(board.getWidth() - 1, (clip.x + clip.width) / CELL_SIZE);
+
+        g.setFont(DOT_FONT);
+        FontMetrics metrics = g.getFontMetrics();
+        int dotOffsetX = (CELL_SIZE - metrics.stringWidth(DOT)) / 2;
+        int dotOffsetY = (CELL_SIZE - metrics.getHeight()) / 2 + metrics.getAscent();
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int x = col * CELL_SIZE;
+                int y = row * CELL_SIZE;
+
+                Upgrade upgrade = upgrades[row][col];
+                if (upgrade != null) {
+                    paintUpgrade(g, upgrade, x, y);
+                }
+                else if (dots.get(row, col)) {
+                    g.setColor(Color.WHITE);
+                    g.drawString(DOT, x + dotOffsetX, y + dotOffsetY);
+                }
             }
         }
     }
 
-    public void addUpgrade (int row, int col, Upgrade upgrade) {
+    private void paintUpgrade(Graphics g, Upgrade upgrade, int x, int y) {
+        Icon icon = upgradeSprites.getIcon(upgrade);
+        if (icon == null) return;
+
+        int iconX = x + (CELL_SIZE - icon.getIconWidth()) / 2;
+        int iconY = y + (CELL_SIZE - icon.getIconHeight()) / 2;
+        icon.paintIcon(this, g, iconX, iconY);
+    }
+
+    private void repaintCell(int row, int col) {
+        repaint(col * CELL_SIZE, row * CELL_SIZE, CELL_SIZE, CELL_SIZE);
+    }
+
+    public void clearDot(int row, int col) {
         if (row >= 0 && row < board.getHeight() && col >= 0 && col < board.getWidth()) {
-            JPanel cellPanel = cellPanels[row][col];
-            
-            if (cellPanel != null) {
-                cellPanel.removeAll();
-
-                JLabel upgradeLabel = new JLabel(upgrade.getIcon());
-                upgradeLabel.setHorizontalAlignment(SwingConstants.CENTER);
-                upgradeLabel.setVerticalAlignment(SwingConstants.CENTER);
-                
-                cellPanel.setLayout(new BorderLayout());
-                cellPanel.add(upgradeLabel, BorderLayout.CENTER);
-                
-                cellPanel.revalidate();
-                cellPanel.repaint();
-            }
+            dots.clear(row, col);
+            upgrades[row][col] = null;
+            repaintCell(row, col);
         }
     }
 
-    public void removeUpgrade(int row, int col) {
-        clearDot(row, col);
+    public void addUpgrade (int row, int col, Upgrade upgrade) {
+        if (row >= 0 && row < board.getHeight() && col >= 0 && col < board.getWidth()) {
+            upgrades[row][col] = upgrade;
+            repaintCell(row, col);
+        }
     }
 
-    private JLabel getDotLabel() {
-        JLabel dot = new JLabel("•");
-        dot.setName("dot");
-        dot.setFont(new Font("SansSerif", Font.PLAIN, 14));
-        dot.setForeground(Color.WHITE);
-        dot.setHorizontalAlignment(SwingConstants.CENTER);
-        dot.setVerticalAlignment(SwingConstants.CENTER);
-        return dot;
+    public void removeUpgrade(int row, int col) {
+        if (row >= 0 && row < board.getHeight() && col >= 0 && col < board.getWidth()) {
+            upgrades[row][col] = null;
+            repaintCell(row, col);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,166 @@
+package board;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Shortest maze distances between every pair of walkable cells, as chars in a flat array.
+ */
+public class DistanceTable {
+    public static final int UNREACHABLE = -1;
+
+    // Larger boards get no table; at the limit one takes 8 MB
+    public static final int MAX_CELLS = 2048;
+
+    private static final char NO_PATH = Character.MAX_VALUE;
+    private static final int SOURCES_PER_TASK = 16;
+
+    private final int width;
+    private final int height;
+    private final int[] cellIds;
+    private final int[] cellIndices;
+    private final int cellCount;
+    private final char[] distances;
+    private final boolean loaded;
+    private final long buildNanos;
+
+    // Precomputed distances come from a MapFile and are used when they fit
+    DistanceTable(Maze maze, char[] precomputed) {
+        long start = System.nanoTime();
+
+        width = maze.getWidth();
+        height = maze.getHeight();
+        cellIds = new int[width * height];
+
+        int count = 0;
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                cellIds[row * width + col] = isWalkable(maze.getTile(row, col)) ? count++ : -1;
+            }
+        }
+
+        cellCount = count;
+        cellIndices = new int[cellCount];
+        for (int index = 0; index < cellIds.length; index++) {
+            if (cellIds[index] >= 0) cellIndices[cellIds[index]] = index;
+        }
+
+        loaded = precomputed != null && cellCount <= MAX_CELLS && precomputed.length == cellCount * cellCount;
+        if (loaded) {
+            distances = precomputed;
+        } else if (cellCount <= MAX_CELLS) {
+            distances = new char[cellCount * cellCount];
+            Arrays.fill(distances, NO_PATH);
+            ForkJoinPool.commonPool().invoke(new BuildTask(0, cellCount));
+        } else {
+            distances = null;
+        }
+
+        buildNanos = System.nanoTime() - start;
+    }
+
+    static boolean isWalkable(char tile) {
+        return tile != '|' && tile != 'X';
+    }
+
+    public int getDistance(int fromRow, int fromCol, int toRow, int toCol) {
+        if (distances == null) return UNREACHABLE;
+
+        int from = cellId(fromRow, fromCol);
+        int to = cellId(toRow, toCol);
+        if (from < 0 || to < 0) return UNREACHABLE;
+
+        char distance = distances[from * cellCount + to];
+        return distance == NO_PATH ? UNREACHABLE : distance;
+    }
+
+    private int cellId(int row, int col) {
+        if (row < 0 || row >= height || col < 0 || col >= width) return -1;
+        return cellIds[row * width + col];
+    }
+
+    private void search(int source, int[] queue) {
+        int offset = source * cellCount;
+        int head = 0, tail = 0;
+
+        distances[offset + source] = 0;
+        queue[tail++] = cellIndices[source];
+
+        while (head < tail) {
+            int index = queue[head++];
+            char next = (char) (distances[offset + cellIds[index]] + 1);
+            int row = index / width;
+            int col = index % width;
+
+            if (row > 0) tail = visit(offset, index - width, next, queue, tail);
+            if (row < height - 1) tail = visit(offset, index + width, next, queue, tail);
+            if (col > 0) tail = visit(offset, index - 1, next, queue, tail);
+            if (col < width - 1) tail = visit(offset, index + 1, next, queue, tail);
+        }
+    }
+
+    private int visit(int offset, int index, char distance, int[] queue, int tail) {
+        int id = cellIds[index];
+        if (id >= 0 && distances[offset + id] == NO_PATH) {
+            distances[offset + id] = distance;
+            queue[tail++] = index;
+        }
+        return tail;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public boolean isAvailable() {
+        return distances != null;
+    }
+
+    public long getMemoryBytes() {
+        long tableBytes = distances == null ? 0 : (long) distances.length * Character.BYTES;
+        return tableBytes + (long) (cellIds.length + cellIndices.length) * Integer.BYTES;
+    }
+
+    char[] getDistances() {
+        return distances;
+    }
+
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    @Override
+    public String toString() {
+        if (distances == null) {
+            return String.format("%d walkable cells, no distance table (limit %d)", cellCount, MAX_CELLS);
+        }
+        return String.format("%d walkable cells, %.1f KB, %s in %.2f ms",
+                cellCount, getMemoryBytes() / 1024.0, loaded ? "loaded" : "built", buildNanos / 1_000_000.0);
+    }
+
+    @SuppressWarnings("serial")
+    private class BuildTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+
+        private BuildTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SOURCES_PER_TASK) {
+                int[] queue = new int[cellCount];
+                for (int source = from; source < to; source++) {
+                    search(source, queue);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new BuildTask(from, middle), new BuildTask(middle, to));
+        }
+    }
+}
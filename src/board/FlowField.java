@@ -0,0 +1,162 @@
+package board;
+
+import java.util.Arrays;
+
+/**
+ * Maze distance from every cell to one target, shared by everything that chases it.
+ */
+public class FlowField {
+    private static final int INFINITE = Integer.MAX_VALUE / 2;
+
+    private final DistanceTable table;
+    private final JunctionGraph graph;
+    private final int width;
+    private final int height;
+
+    private final int[] nodeDistances;
+    private long[] heap;
+    private int heapSize;
+
+    private int targetRow = -1;
+    private int targetCol = -1;
+    private int targetEdge = JunctionGraph.NONE;
+    private int targetOffset = 0;
+    private long rebuilds = 0;
+
+    public FlowField(Board board) {
+        this.table = board.getDistanceTable();
+        this.graph = board.getJunctionGraph();
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+
+        if (table.isAvailable()) {
+            nodeDistances = null;
+        } else {
+            nodeDistances = new int[graph.getNodeCount()];
+            heap = new long[Math.max(4, graph.getEdgeCount() * 2 + 2)];
+            Arrays.fill(nodeDistances, INFINITE);
+        }
+    }
+
+    public void update(int row, int col) {
+        if (row == targetRow && col == targetCol) return;
+
+        targetRow = row;
+        targetCol = col;
+
+        if (nodeDistances != null) rebuild();
+    }
+
+    private void rebuild() {
+        rebuilds++;
+        Arrays.fill(nodeDistances, INFINITE);
+        targetEdge = JunctionGraph.NONE;
+        heapSize = 0;
+
+        if (targetRow < 0 || targetRow >= height || targetCol < 0 || targetCol >= width) return;
+
+        int cell = targetRow * width + targetCol;
+        int node = graph.getNode(cell);
+        int edge = graph.getEdge(cell);
+
+        if (node != JunctionGraph.NONE) {
+            relax(node, 0);
+        } else if (edge != JunctionGraph.NONE) {
+            targetEdge = edge;
+            targetOffset = graph.getOffset(cell);
+            relax(graph.getEdgeFrom(edge), targetOffset);
+            relax(graph.getEdgeTo(edge), graph.getEdgeLength(edge) - targetOffset);
+        }
+
+        while (heapSize > 0) {
+            long entry = poll();
+            int distance = (int) (entry >>> 32);
+            int current = (int) entry;
+            if (distance > nodeDistances[current]) continue;
+
+            for (int dir = 0; dir < 4; dir++) {
+                int next = graph.getNodeEdge(current, dir);
+                if (next == JunctionGraph.NONE) continue;
+
+                int other = graph.getEdgeFrom(next) == current ? graph.getEdgeTo(next) : graph.getEdgeFrom(next);
+                relax(other, distance + graph.getEdgeLength(next));
+            }
+        }
+    }
+
+    private void relax(int node, int distance) {
+        if (distance >= nodeDistances[node]) return;
+        nodeDistances[node] = distance;
+        push(((long) distance << 32) | node);
+    }
+
+    private void push(long entry) {
+        if (heapSize == heap.length) heap = Arrays.copyOf(heap, heapSize * 2);
+
+        int index = heapSize++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= entry) break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = entry;
+    }
+
+    private long poll() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+
+        int index = 0;
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= last) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        if (heapSize > 0) heap[index] = last;
+        return top;
+    }
+
+    public int getDistance(int row, int col) {
+        if (nodeDistances == null) {
+            return table.getDistance(targetRow, targetCol, row, col);
+        }
+
+        if (row < 0 || row >= height || col < 0 || col >= width) return DistanceTable.UNREACHABLE;
+
+        int cell = row * width + col;
+        int node = graph.getNode(cell);
+        int distance;
+
+        if (node != JunctionGraph.NONE) {
+            distance = nodeDistances[node];
+        } else {
+            int edge = graph.getEdge(cell);
+            if (edge == JunctionGraph.NONE) return DistanceTable.UNREACHABLE;
+
+            int offset = graph.getOffset(cell);
+            distance = Math.min(offset + nodeDistances[graph.getEdgeFrom(edge)],
+                    graph.getEdgeLength(edge) - offset + nodeDistances[graph.getEdgeTo(edge)]);
+            if (edge == targetEdge) {
+                distance = Math.min(distance, Math.abs(offset - targetOffset));
+            }
+        }
+
+        return distance >= INFINITE ? DistanceTable.UNREACHABLE : distance;
+    }
+
+    public int getTargetRow() {
+        return targetRow;
+    }
+
+    public int getTargetCol() {
+        return targetCol;
+    }
+
+    public long getRebuildCount() {
+        return rebuilds;
+    }
+}
@@ -0,0 +1,187 @@
+package board;
+
+import java.util.Arrays;
+
+/**
+ * The maze as a graph of junctions and dead ends, with one weighted edge per corridor.
+ */
+public class JunctionGraph {
+    public static final int NONE = -1;
+
+    private static final int[] ROW_STEP = {0, 1, 0, -1};
+    private static final int[] COL_STEP = {1, 0, -1, 0};
+
+    private final int width;
+    private final int[] nodeOfCell;
+    private final int[] edgeOfCell;
+    private final int[] offsetOfCell;
+
+    private int[] nodeCells = new int[16];
+    private int[] nodeEdges = new int[64];
+    private int nodeCount = 0;
+
+    private int[] edgeFrom = new int[16];
+    private int[] edgeTo = new int[16];
+    private int[] edgeLength = new int[16];
+    private int[] edgeFromDirection = new int[16];
+    private int[] edgeToDirection = new int[16];
+    private int edgeCount = 0;
+
+    private final long buildNanos;
+
+    JunctionGraph(Maze maze) {
+        long start = System.nanoTime();
+
+        width = maze.getWidth();
+        int height = maze.getHeight();
+        int cells = width * height;
+
+        nodeOfCell = new int[cells];
+        edgeOfCell = new int[cells];
+        offsetOfCell = new int[cells];
+        Arrays.fill(nodeOfCell, NONE);
+        Arrays.fill(edgeOfCell, NONE);
+
+        for (int cell = 0; cell < cells; cell++) {
+            int row = cell / width, col = cell % width;
+            if (isWalkable(maze, row, col) && Integer.bitCount(maze.getExits(row, col)) != 2) {
+                addNode(cell);
+            }
+        }
+
+        for (int node = 0; node < nodeCount; node++) {
+            traceEdges(maze, node);
+        }
+
+        // Corridors that loop back on themselves without a junction get one node of their own
+        for (int cell = 0; cell < cells; cell++) {
+            int row = cell / width, col = cell % width;
+            if (nodeOfCell[cell] == NONE && edgeOfCell[cell] == NONE && isWalkable(maze, row, col)) {
+                traceEdges(maze, addNode(cell));
+            }
+        }
+
+        buildNanos = System.nanoTime() - start;
+    }
+
+    private static boolean isWalkable(Maze maze, int row, int col) {
+        return DistanceTable.isWalkable(maze.getTile(row, col));
+    }
+
+    private int addNode(int cell) {
+        if (nodeCount == nodeCells.length) {
+            nodeCells = Arrays.copyOf(nodeCells, nodeCount * 2);
+            nodeEdges = Arrays.copyOf(nodeEdges, nodeCount * 8);
+        }
+
+        nodeCells[nodeCount] = cell;
+        Arrays.fill(nodeEdges, nodeCount * 4, nodeCount * 4 + 4, NONE);
+        nodeOfCell[cell] = nodeCount;
+        return nodeCount++;
+    }
+
+    private void traceEdges(Maze maze, int node) {
+        int startCell = nodeCells[node];
+        int exits = maze.getExits(startCell / width, startCell % width);
+
+        for (int dir = 0; dir < 4; dir++) {
+            if ((exits & (1 << dir)) == 0 || nodeEdges[node * 4 + dir] != NONE) continue;
+
+            int edge = newEdge();
+            int cell = startCell;
+            int heading = dir;
+            int length = 0;
+
+            while (true) {
+                cell += ROW_STEP[heading] * width + COL_STEP[heading];
+                length++;
+
+                if (nodeOfCell[cell] != NONE) break;
+
+                edgeOfCell[cell] = edge;
+                offsetOfCell[cell] = length;
+
+                int onward = maze.getExits(cell / width, cell % width) & ~(1 << opposite(heading));
+                heading = Integer.numberOfTrailingZeros(onward);
+            }
+
+            int other = nodeOfCell[cell];
+            edgeFrom[edge] = node;
+            edgeTo[edge] = other;
+            edgeLength[edge] = length;
+            edgeFromDirection[edge] = dir;
+            edgeToDirection[edge] = opposite(heading);
+            nodeEdges[node * 4 + dir] = edge;
+            nodeEdges[other * 4 + opposite(heading)] = edge;
+        }
+    }
+
+    private int newEdge() {
+        if (edgeCount == edgeFrom.length) {
+            edgeFrom = Arrays.copyOf(edgeFrom, edgeCount * 2);
+            edgeTo = Arrays.copyOf(edgeTo, edgeCount * 2);
+            edgeLength = Arrays.copyOf(edgeLength, edgeCount * 2);
+            edgeFromDirection = Arrays.copyOf(edgeFromDirection, edgeCount * 2);
+            edgeToDirection = Arrays.copyOf(edgeToDirection, edgeCount * 2);
+        }
+        return edgeCount++;
+    }
+
+    private static int opposite(int dir) {
+        return (dir + 2) & 3;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public int getNode(int cell) {
+        return nodeOfCell[cell];
+    }
+
+    public int getEdge(int cell) {
+        return edgeOfCell[cell];
+    }
+
+    // Steps from the edge's from node
+    public int getOffset(int cell) {
+        return offsetOfCell[cell];
+    }
+
+    public int getNodeCell(int node) {
+        return nodeCells[node];
+    }
+
+    public int getNodeEdge(int node, int direction) {
+        return nodeEdges[node * 4 + direction];
+    }
+
+    public int getEdgeFrom(int edge) {
+        return edgeFrom[edge];
+    }
+
+    public int getEdgeTo(int edge) {
+        return edgeTo[edge];
+    }
+
+    public int getEdgeLength(int edge) {
+        return edgeLength[edge];
+    }
+
+    public int getEdgeFromDirection(int edge) {
+        return edgeFromDirection[edge];
+    }
+
+    public int getEdgeToDirection(int edge) {
+        return edgeToDirection[edge];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d nodes, %d edges, built in %.2f ms", nodeCount, edgeCount, buildNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,36 @@
+package board;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Compiles text maps into .pmap files next to them, for shipping maps already compiled.
+ * Usage: MapCompiler map.txt...
+ */
+public class MapCompiler {
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: MapCompiler map.txt...");
+            return;
+        }
+
+        for (String arg : args) {
+            Path source = Paths.get(arg);
+            String fileName = source.getFileName().toString();
+            int dot = fileName.lastIndexOf('.');
+            Path target = source.resolveSibling((dot > 0 ? fileName.substring(0, dot) : fileName) + MapFile.EXTENSION);
+
+            Maze maze = compile(Files.readString(source, StandardCharsets.UTF_8));
+            MapFile.write(maze, target);
+            System.out.println(source + " -> " + target + " (" + Files.size(target) + " bytes): "
+                    + maze.getDistanceTable() + "; junction graph " + maze.getJunctionGraph());
+        }
+    }
+
+    public static Maze compile(String text) {
+        return new Maze(text.lines().map(String::toCharArray).toArray(char[][]::new));
+    }
+}
@@ -0,0 +1,116 @@
+package board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * Compiled maps (.pmap): a Maze as held in memory, big-endian. See write for the layout.
+ */
+public final class MapFile {
+    public static final String EXTENSION = ".pmap";
+
+    private static final int MAGIC = 0x504D4150;
+    private static final int VERSION = 1;
+
+    private MapFile() {
+    }
+
+    public static Maze read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                return read(buffer);
+            } catch (RuntimeException e) {
+                throw new IOException("Corrupt map file " + path, e);
+            }
+        }
+    }
+
+    // Every size and cell is checked, so a damaged file fails here
+    public static Maze read(ByteBuffer buffer) throws IOException {
+        check(buffer.remaining() >= 6 * Integer.BYTES, "Truncated map file");
+        if (buffer.getInt() != MAGIC) throw new IOException("Not a compiled map");
+        int version = buffer.getInt();
+        if (version != VERSION) throw new IOException("Unsupported map file version " + version);
+
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+        long tileCount = (width + 2L) * (height + 2L);
+        check(width > 0 && height > 0 && tileCount <= Integer.MAX_VALUE, "Bad map size " + width + "x" + height);
+        int cells = width * height;
+
+        int playerSpawn = buffer.getInt();
+        check(playerSpawn >= -1 && playerSpawn < cells, "Bad player spawn " + playerSpawn);
+
+        int houseCount = buffer.getInt();
+        check(houseCount >= 0 && houseCount <= buffer.remaining() / Integer.BYTES, "Bad ghost house count " + houseCount);
+        int[] ghostHouses = new int[houseCount];
+        buffer.asIntBuffer().get(ghostHouses);
+        buffer.position(buffer.position() + ghostHouses.length * Integer.BYTES);
+        for (int house : ghostHouses) {
+            check(house >= 0 && house < cells, "Bad ghost house " + house);
+        }
+
+        check(buffer.remaining() >= 2 * tileCount + Integer.BYTES, "Truncated map file");
+        byte[] tiles = new byte[(int) tileCount];
+        byte[] wallMasks = new byte[tiles.length];
+        buffer.get(tiles);
+        buffer.get(wallMasks);
+
+        int walkable = Maze.countWalkableCells(tiles, width, height);
+        check(walkable >= 0, "Bad tiles");
+
+        char[] distances = null;
+        int distanceCount = buffer.getInt();
+        if (distanceCount != 0) {
+            check(walkable <= DistanceTable.MAX_CELLS && distanceCount == walkable * walkable
+                    && buffer.remaining() >= (long) distanceCount * Character.BYTES, "Bad distance table length " + distanceCount);
+            distances = new char[distanceCount];
+            buffer.asCharBuffer().get(distances);
+        }
+
+        return new Maze(width, height, tiles, wallMasks, playerSpawn, ghostHouses, distances);
+    }
+
+    private static void check(boolean valid, String message) throws IOException {
+        if (!valid) throw new IOException(message);
+    }
+
+    // Written under a temporary name and moved into place, so readers never see half a map
+    public static void write(Maze maze, Path path) throws IOException {
+        byte[] tiles = maze.getTiles();
+        byte[] wallMasks = maze.getWallMasks();
+        int[] ghostHouses = maze.getGhostHouses();
+        char[] distances = maze.getDistanceTable().getDistances();
+        int distanceCount = distances != null ? distances.length : 0;
+
+        ByteBuffer buffer = ByteBuffer.allocate(7 * Integer.BYTES + ghostHouses.length * Integer.BYTES
+                + tiles.length + wallMasks.length + distanceCount * Character.BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION)
+                .putInt(maze.getWidth()).putInt(maze.getHeight())
+                .putInt(maze.getPlayerSpawn())
+                .putInt(ghostHouses.length);
+        for (int house : ghostHouses) buffer.putInt(house);
+        buffer.put(tiles).put(wallMasks).putInt(distanceCount);
+        if (distances != null) {
+            buffer.asCharBuffer().put(distances);
+            buffer.position(buffer.position() + distanceCount * Character.BYTES);
+        }
+        buffer.flip();
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) channel.write(buffer);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package board;
+
+import java.util.Arrays;
+
+/**
+ * The unchanging parts of a map, shared by every Board played on it. Cell ids index a flat
+ * tile array framed by a one-cell wall border, so stepping off the maze lands on a wall.
+ */
+public final class Maze {
+    private static final int EXIT_MASK = 0x0F;
+    private static final int WALL = 0x10;
+    private static final int GATE = 0x20;
+    private static final int BLOCKED = WALL | GATE;
+    private static final int DOT = 0x40;
+
+    private final int width;
+    private final int height;
+    private final int stride;
+    private final int[] steps;
+    private final byte[] tiles;
+    private final byte[] wallMasks;
+    private final BitGrid blockedRows;
+    private final BitGrid blockedColumns;
+
+    private final BitGrid dots;
+    private final BitGrid dotColumns;
+    private final int dotCount;
+    private final int playerSpawn;
+    private final int[] ghostHouses;
+
+    private final DistanceTable distanceTable;
+    private final JunctionGraph junctionGraph;
+
+    public Maze(char[][] layout) {
+        this(layout[0].length, layout.length, compileTiles(layout), null,
+                findPlayerSpawn(layout), findGhostHouses(layout), null);
+    }
+
+    // Wall masks and distances are computed when null
+    Maze(int width, int height, byte[] tiles, byte[] wallMasks, int playerSpawn, int[] ghostHouses, char[] distances) {
+        this.width = width;
+        this.height = height;
+        this.stride = width + 2;
+        this.steps = new int[] {1, stride, -1, -stride};
+        this.tiles = tiles;
+        this.wallMasks = wallMasks != null ? wallMasks : compileWallMasks(tiles, width, height);
+        this.playerSpawn = playerSpawn;
+        this.ghostHouses = ghostHouses;
+
+        this.blockedRows = new BitGrid(height, width);
+        this.dots = new BitGrid(height, width);
+        int dotTotal = 0;
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int tile = tiles[cellId(row, col)];
+                if ((tile & BLOCKED) != 0) blockedRows.set(row, col);
+                if ((tile & DOT) != 0) {
+                    dots.set(row, col);
+                    dotTotal++;
+                }
+            }
+        }
+        this.dotCount = dotTotal;
+        this.blockedColumns = blockedRows.transpose();
+        this.dotColumns = dots.transpose();
+
+        this.distanceTable = new DistanceTable(this, distances);
+        this.junctionGraph = new JunctionGraph(this);
+    }
+
+    private static byte[] compileTiles(char[][] layout) {
+        int height = layout.length, width = layout[0].length, stride = width + 2;
+        byte[] tiles = new byte[(height + 2) * stride];
+        Arrays.fill(tiles, (byte) WALL);
+
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                char tile = col < layout[row].length ? layout[row][col] : ' ';
+                tiles[(row + 1) * stride + col + 1] = (byte) switch (tile) {
+                    case '|' -> WALL;
+                    case 'X' -> GATE;
+                    case '.' -> DOT;
+                    default -> 0;
+                };
+            }
+        }
+
+        int[] steps = {1, stride, -1, -stride};
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int cell = (row + 1) * stride + col + 1;
+                for (int dir = 0; dir < 4; dir++) {
+                    if ((tiles[cell + steps[dir]] & BLOCKED) == 0) tiles[cell] |= (byte) (1 << dir);
+                }
+            }
+        }
+        return tiles;
+    }
+
+    /** Returns -1 if the tiles are not a valid compiled maze */
+    static int countWalkableCells(byte[] tiles, int width, int height) {
+        int stride = width + 2;
+        int[] steps = {1, stride, -1, -stride};
+        int walkable = 0;
+
+        for (int row = -1; row <= height; row++) {
+            for (int col = -1; col <= width; col++) {
+                int cell = (row + 1) * stride + col + 1;
+                int tile = tiles[cell];
+                boolean border = row < 0 || row == height || col < 0 || col == width;
+
+                if (border) {
+                    if ((tile & WALL) == 0 || (tile & EXIT_MASK) != 0) return -1;
+                    continue;
+                }
+
+                int exits = 0;
+                for (int dir = 0; dir < 4; dir++) {
+                    if ((tiles[cell + steps[dir]] & BLOCKED) == 0) exits |= 1 << dir;
+                }
+                if ((tile & EXIT_MASK) != exits) return -1;
+                if ((tile & BLOCKED) == 0) walkable++;
+            }
+        }
+        return walkable;
+    }
+
+    private static byte[] compileWallMasks(byte[] tiles, int width, int height) {
+        int stride = width + 2;
+        byte[] masks = new byte[tiles.length];
+
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int cell = (row + 1) * stride + col + 1;
+                int mask = 0;
+                if (col < width - 1 && (tiles[cell + 1] & BLOCKED) != 0) mask |= Board.EXIT_RIGHT;
+                if (row < height - 1 && (tiles[cell + stride] & BLOCKED) != 0) mask |= Board.EXIT_DOWN;
+                if (col > 0 && (tiles[cell - 1] & BLOCKED) != 0) mask |= Board.EXIT_LEFT;
+                if (row > 0 && (tiles[cell - stride] & BLOCKED) != 0) mask |= Board.EXIT_UP;
+                masks[cell] = (byte) mask;
+            }
+        }
+        return masks;
+    }
+
+    private static int findPlayerSpawn(char[][] layout) {
+        int width = layout[0].length;
+        for (int row = 0; row < layout.length; row++) {
+            for (int col = 0; col < Math.min(width, layout[row].length); col++) {
+                if (layout[row][col] == 'P') return row * width + col;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] findGhostHouses(char[][] layout) {
+        int width = layout[0].length;
+        int[] houses = new int[0];
+        for (int row = 0; row < layout.length; row++) {
+            for (int col = 0; col < Math.min(width, layout[row].length); col++) {
+                if (layout[row][col] == 'G') {
+                    houses = Arrays.copyOf(houses, houses.length + 1);
+                    houses[houses.length - 1] = row * width + col;
+                }
+            }
+        }
+        return houses;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getStride() {
+        return stride;
+    }
+
+    public int cellId(int row, int col) {
+        return (row + 1) * stride + col + 1;
+    }
+
+    public int rowOf(int cellId) {
+        return cellId / stride - 1;
+    }
+
+    public int colOf(int cellId) {
+        return cellId % stride - 1;
+    }
+
+    public int getStep(int direction) {
+        return steps[direction];
+    }
+
+    // No bounds checks on the *At methods: the id must be inside the maze or on its border
+    public int getExitsAt(int cellId) {
+        return tiles[cellId] & EXIT_MASK;
+    }
+
+    public boolean isWalkableAt(int cellId) {
+        return (tiles[cellId] & BLOCKED) == 0;
+    }
+
+    public char getTile(int row, int col) {
+        if (row < 0 || row >= height || col < 0 || col >= width) return ' ';
+
+        int tile = tiles[cellId(row, col)];
+        if ((tile & WALL) != 0) return '|';
+        if ((tile & GATE) != 0) return 'X';
+        return ' ';
+    }
+
+    public int getWallMask(int row, int col) {
+        if (row < 0 || row >= height || col < 0 || col >= width) return 0;
+        return wallMasks[cellId(row, col)];
+    }
+
+    public boolean isWalkable(int row, int col) {
+        return row >= 0 && row < height && col >= 0 && col < width && isWalkableAt(cellId(row, col));
+    }
+
+    public boolean isOpenRow(int row, int fromCol, int toCol) {
+        if (row < 0 || row >= height || Math.min(fromCol, toCol) < 0 || Math.max(fromCol, toCol) >= width) {
+            return false;
+        }
+        return !blockedRows.anyInRow(row, fromCol, toCol);
+    }
+
+    public boolean isOpenColumn(int col, int fromRow, int toRow) {
+        if (col < 0 || col >= width || Math.min(fromRow, toRow) < 0 || Math.max(fromRow, toRow) >= height) {
+            return false;
+        }
+        return !blockedColumns.anyInRow(col, fromRow, toRow);
+    }
+
+    public int getExits(int row, int col) {
+        if (row >= 0 && row < height && col >= 0 && col < width) {
+            return getExitsAt(cellId(row, col));
+        }
+        return 0;
+    }
+
+    BitGrid copyDots() {
+        return dots.copy();
+    }
+
+    BitGrid copyDotColumns() {
+        return dotColumns.copy();
+    }
+
+    public int getDotCount() {
+        return dotCount;
+    }
+
+    // Spawn and house cells are row * width + col
+    public int getPlayerSpawn() {
+        return playerSpawn;
+    }
+
+    public int[] getGhostHouses() {
+        return ghostHouses.clone();
+    }
+
+    byte[] getTiles() {
+        return tiles;
+    }
+
+    byte[] getWallMasks() {
+        return wallMasks;
+    }
+
+    public DistanceTable getDistanceTable() {
+        return distanceTable;
+    }
+
+    public JunctionGraph getJunctionGraph() {
+        return junctionGraph;
+    }
+}
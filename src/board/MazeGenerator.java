@@ -0,0 +1,229 @@
+package board;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Generates maps of any size from a seed, band by band, in the same tiles as the text maps.
+ */
+public final class MazeGenerator {
+    public static final int MIN_SIZE = 11;
+    public static final int BAND_ROWS = 16;
+    public static final int HOUSE_SPACING = 64;
+
+    private static final int PARALLEL_BANDS = 4;
+    private static final String[] HOUSE = {"||XXX||", "|  G  |", "|||||||"};
+
+    private final int width;
+    private final int height;
+    private final long seed;
+    private final int cellRows;
+    private final int cellCols;
+    private final int bandCount;
+    private final int houseBand;
+
+    public interface RowSink {
+        void accept(int row, char[] tiles);
+    }
+
+    // Even sizes are rounded up to the next odd number
+    public MazeGenerator(int width, int height, long seed) {
+        if (width < MIN_SIZE || height < MIN_SIZE) {
+            throw new IllegalArgumentException("Maps must be at least " + MIN_SIZE + "x" + MIN_SIZE);
+        }
+
+        this.width = width | 1;
+        this.height = height | 1;
+        this.seed = seed;
+        this.cellRows = (this.height - 1) / 2;
+        this.cellCols = (this.width - 1) / 2;
+        this.bandCount = (cellRows + BAND_ROWS - 1) / BAND_ROWS;
+
+        // The middle band gets the start point, so it must be tall enough for a house
+        int middle = bandCount / 2;
+        this.houseBand = bandRows(middle) >= 3 ? middle : middle - 1;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public Board createBoard() {
+        return new Board(generate());
+    }
+
+    public char[][] generate() {
+        char[][] layout = new char[height][];
+        generate((row, tiles) -> layout[row] = tiles);
+        return layout;
+    }
+
+    /** The sink is only ever called from the calling thread, in row order */
+    public void generate(RowSink sink) {
+        if (bandCount < PARALLEL_BANDS) {
+            for (int band = 0; band < bandCount; band++) emit(band, generateBand(band), sink);
+            return;
+        }
+
+        int window = 2 * ForkJoinPool.commonPool().getParallelism();
+        Deque<CompletableFuture<char[][]>> inFlight = new ArrayDeque<>();
+        int next = 0;
+        for (int band = 0; band < bandCount; band++) {
+            while (next < bandCount && next < band + window) {
+                int submitted = next++;
+                inFlight.add(CompletableFuture.supplyAsync(() -> generateBand(submitted), ForkJoinPool.commonPool()));
+            }
+            emit(band, inFlight.remove().join(), sink);
+        }
+    }
+
+    private void emit(int band, char[][] rows, RowSink sink) {
+        int firstRow = 2 * band * BAND_ROWS;
+        for (int i = 0; i < rows.length; i++) sink.accept(firstRow + i, rows[i]);
+    }
+
+    private int bandRows(int band) {
+        return Math.min(BAND_ROWS, cellRows - band * BAND_ROWS);
+    }
+
+    // Maze cell (i, j) of a band is at local row 2i + 1, column 2j + 1
+    private char[][] generateBand(int band) {
+        int rows = bandRows(band);
+        boolean last = band == bandCount - 1;
+        char[][] tiles = new char[2 * rows + (last ? 1 : 0)][width];
+        for (char[] row : tiles) Arrays.fill(row, '|');
+
+        SplittableRandom random = new SplittableRandom(seed ^ (band * 0x9E3779B97F4A7C15L));
+        carveSpanningTree(tiles, rows, random);
+        if (band > 0) openToBandAbove(tiles, random);
+        openDeadEnds(tiles, rows, random);
+
+        if (band == houseBand || ((band - houseBand) % 2 == 0 && rows >= 3)) {
+            placeHouses(tiles, 2 * (rows / 2) + 1, band == houseBand);
+        }
+        return tiles;
+    }
+
+    private void carveSpanningTree(char[][] tiles, int rows, SplittableRandom random) {
+        int[] stack = new int[rows * cellCols];
+        int top = 0;
+        int start = random.nextInt(rows * cellCols);
+        tiles[2 * (start / cellCols) + 1][2 * (start % cellCols) + 1] = '.';
+        stack[top++] = start;
+
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int i = cell / cellCols, j = cell % cellCols;
+
+            int options = 0;
+            if (j < cellCols - 1 && tiles[2 * i + 1][2 * j + 3] == '|') options |= Board.EXIT_RIGHT;
+            if (i < rows - 1 && tiles[2 * i + 3][2 * j + 1] == '|') options |= Board.EXIT_DOWN;
+            if (j > 0 && tiles[2 * i + 1][2 * j - 1] == '|') options |= Board.EXIT_LEFT;
+            if (i > 0 && tiles[2 * i - 1][2 * j + 1] == '|') options |= Board.EXIT_UP;
+            if (options == 0) {
+                top--;
+                continue;
+            }
+
+            int dir = pick(options, random);
+            int di = dir == 1 ? 1 : dir == 3 ? -1 : 0;
+            int dj = dir == 0 ? 1 : dir == 2 ? -1 : 0;
+            tiles[2 * i + 1 + di][2 * j + 1 + dj] = '.';
+            tiles[2 * i + 1 + 2 * di][2 * j + 1 + 2 * dj] = '.';
+            stack[top++] = (i + di) * cellCols + j + dj;
+        }
+    }
+
+    private void openToBandAbove(char[][] tiles, SplittableRandom random) {
+        tiles[0][2 * random.nextInt(cellCols) + 1] = '.';
+        for (int j = 0; j < cellCols; j++) {
+            if (random.nextInt(4) == 0) tiles[0][2 * j + 1] = '.';
+        }
+    }
+
+    private void openDeadEnds(char[][] tiles, int rows, SplittableRandom random) {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cellCols; j++) {
+                int row = 2 * i + 1, col = 2 * j + 1;
+                int exits = 0, closed = 0;
+
+                if (tiles[row][col + 1] != '|') exits++;
+                else if (j < cellCols - 1) closed |= Board.EXIT_RIGHT;
+                if (row + 1 < tiles.length && tiles[row + 1][col] != '|') exits++;
+                else if (i < rows - 1) closed |= Board.EXIT_DOWN;
+                if (tiles[row][col - 1] != '|') exits++;
+                else if (j > 0) closed |= Board.EXIT_LEFT;
+                if (tiles[row - 1][col] != '|') exits++;
+                else if (i > 0) closed |= Board.EXIT_UP;
+
+                if (exits > 1 || closed == 0) continue;
+                switch (pick(closed, random)) {
+                    case 0 -> tiles[row][col + 1] = '.';
+                    case 1 -> tiles[row + 1][col] = '.';
+                    case 2 -> tiles[row][col - 1] = '.';
+                    default -> tiles[row - 1][col] = '.';
+                }
+            }
+        }
+    }
+
+    private void placeHouses(char[][] tiles, int row, boolean withStart) {
+        int center = 2 * (cellCols / 2) + 1;
+        for (int col = center % HOUSE_SPACING; col <= width - 6; col += HOUSE_SPACING) {
+            if (col < 5) continue;
+
+            for (int r = row - 2; r <= row + 2; r++) {
+                for (int c = col - 4; c <= col + 4; c++) {
+                    boolean ring = r == row - 2 || r == row + 2 || c == col - 4 || c == col + 4;
+                    tiles[r][c] = ring ? '.' : HOUSE[r - row + 1].charAt(c - col + 3);
+                }
+            }
+            if (withStart && col == center) tiles[row + 2][col] = 'P';
+        }
+    }
+
+    private static int pick(int options, SplittableRandom random) {
+        int skip = random.nextInt(Integer.bitCount(options));
+        for (int i = 0; i < skip; i++) options &= options - 1;
+        return Integer.numberOfTrailingZeros(options);
+    }
+
+    // Usage: MazeGenerator width height seed file
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: MazeGenerator width height seed file");
+            return;
+        }
+
+        MazeGenerator generator = new MazeGenerator(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+                Long.parseLong(args[2]));
+        long start = System.nanoTime();
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(Paths.get(args[3]), StandardCharsets.UTF_8))) {
+            generator.generate((row, tiles) -> {
+                try {
+                    writer.write(tiles);
+                    if (row < generator.getHeight() - 1) writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        System.out.printf("Generated %dx%d map in %.1f ms%n", generator.getWidth(), generator.getHeight(),
+                (System.nanoTime() - start) / 1_000_000.0);
+    }
+}
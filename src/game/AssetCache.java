@@ -0,0 +1,147 @@
+package game;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide store for the images under /assets, decoded once and scaled once per size.
+ */
+public final class AssetCache {
+    private static final AssetCache INSTANCE = new AssetCache();
+
+    private static final int ATLAS_PAGE_SIZE = 512;
+
+    private final Map<String, BufferedImage> decoded = new ConcurrentHashMap<>();
+    private final Map<String, Sprite> sprites = new ConcurrentHashMap<>();
+    private final Map<Integer, Atlas> atlases = new ConcurrentHashMap<>();
+
+    private AssetCache() {
+    }
+
+    public static AssetCache getInstance() {
+        return INSTANCE;
+    }
+
+    // Both throw IllegalArgumentException if there is no such resource or it cannot be decoded
+    public BufferedImage getImage(String path) {
+        BufferedImage image = decoded.get(path);
+        if (image != null) return image;
+
+        // Decoded outside the map, so a slow read does not hold up other images
+        image = decode(path);
+        BufferedImage existing = decoded.putIfAbsent(path, image);
+        return existing != null ? existing : image;
+    }
+
+    public Sprite getSprite(String path, int size) {
+        String key = path + '@' + size;
+        Sprite sprite = sprites.get(key);
+        if (sprite != null) return sprite;
+
+        BufferedImage image = getImage(path);
+        Atlas atlas = atlases.get(size);
+        if (atlas == null) {
+            Atlas created = new Atlas(size);
+            atlas = atlases.putIfAbsent(size, created);
+            if (atlas == null) atlas = created;
+        }
+
+        sprite = atlas.add(path, image);
+        sprites.putIfAbsent(key, sprite);
+        return sprite;
+    }
+
+    public Sprite getIcon(String path) {
+        BufferedImage image = getImage(path);
+        return getSprite(path, Math.max(image.getWidth(), image.getHeight()));
+    }
+
+    public int getDecodedCount() {
+        return decoded.size();
+    }
+
+    private static BufferedImage decode(String path) {
+        try (InputStream in = AssetCache.class.getResourceAsStream(path)) {
+            if (in == null) throw new IllegalArgumentException("Missing asset " + path);
+
+            BufferedImage image = ImageIO.read(in);
+            if (image == null) throw new IllegalArgumentException("Unreadable asset " + path);
+            return image;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read asset " + path, e);
+        }
+    }
+
+    // Screen-compatible, or premultiplied ARGB headless: what Java2D blends fastest
+    private static BufferedImage createCompatibleImage(int width, int height) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    private static final class Atlas {
+        private final int size;
+        private final int perRow;
+        private final int perPage;
+        private final Map<String, Sprite> frames = new HashMap<>();
+        private BufferedImage page;
+        private int count = 0;
+
+        Atlas(int size) {
+            this.size = size;
+            this.perRow = Math.max(1, ATLAS_PAGE_SIZE / size);
+            this.perPage = perRow * perRow;
+        }
+
+        synchronized Sprite add(String path, BufferedImage source) {
+            Sprite existing = frames.get(path);
+            if (existing != null) return existing;
+
+            int slot = count % perPage;
+            if (slot == 0) page = createCompatibleImage(perRow * size, perRow * size);
+            count++;
+
+            int x = slot % perRow * size;
+            int y = slot / perRow * size;
+            Graphics2D g = page.createGraphics();
+            try {
+                g.setComposite(AlphaComposite.Src);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(downscale(source, size), x, y, size, size, null);
+            } finally {
+                g.dispose();
+            }
+            Sprite sprite = new Sprite(page, x, y, size);
+            frames.put(path, sprite);
+            return sprite;
+        }
+
+        // Halve first so the final bicubic pass samples every source pixel
+        private static BufferedImage downscale(BufferedImage image, int size) {
+            int width = image.getWidth(), height = image.getHeight();
+
+            while (width / 2 >= size && height / 2 >= size) {
+                width /= 2;
+                height /= 2;
+
+                BufferedImage half = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+                Graphics2D g = half.createGraphics();
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(image, 0, 0, width, height, null);
+                g.dispose();
+                image = half;
+            }
+            return image;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package game;
+
+import java.awt.*;
+
+/**
+ * The part of the board on screen, centred on a point and clamped to the board's edges.
+ */
+public class Camera {
+    private final int boardWidth;
+    private final int boardHeight;
+    private final int viewWidth;
+    private final int viewHeight;
+    private int x;
+    private int y;
+
+    // Sizes are in pixels
+    public Camera(int boardWidth, int boardHeight, int viewWidth, int viewHeight) {
+        this.boardWidth = boardWidth;
+        this.boardHeight = boardHeight;
+        this.viewWidth = Math.min(viewWidth, boardWidth);
+        this.viewHeight = Math.min(viewHeight, boardHeight);
+    }
+
+    // Returns whether it moved
+    public boolean follow(float centerX, float centerY) {
+        int newX = clamp(Math.round(centerX) - viewWidth / 2, boardWidth - viewWidth);
+        int newY = clamp(Math.round(centerY) - viewHeight / 2, boardHeight - viewHeight);
+        if (newX == x && newY == y) return false;
+
+        x = newX;
+        y = newY;
+        return true;
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(value, max));
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getViewWidth() {
+        return viewWidth;
+    }
+
+    public int getViewHeight() {
+        return viewHeight;
+    }
+
+    public boolean isVisible(float left, float top, int size) {
+        return left + size > x && left < x + viewWidth && top + size > y && top < y + viewHeight;
+    }
+
+    public Rectangle getView(Rectangle view) {
+        view.setBounds(x, y, viewWidth, viewHeight);
+        return view;
+    }
+}
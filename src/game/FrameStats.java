@@ -0,0 +1,68 @@
+package game;
+
+public class FrameStats {
+    private static final long REPORT_INTERVAL = 5_000_000_000L;
+
+    private long lastFrameTime = 0;
+    private long windowStart = 0;
+
+    private int frames = 0;
+    private long totalFrameTime = 0;
+    private long minFrameTime = Long.MAX_VALUE;
+    private long maxFrameTime = 0;
+    private long totalRenderTime = 0;
+    private long maxRenderTime = 0;
+
+    public void record(long frameStart, long renderTime) {
+        if (lastFrameTime == 0) {
+            lastFrameTime = frameStart;
+            windowStart = frameStart;
+            return;
+        }
+
+        long frameTime = frameStart - lastFrameTime;
+        lastFrameTime = frameStart;
+
+        frames++;
+        totalFrameTime += frameTime;
+        minFrameTime = Math.min(minFrameTime, frameTime);
+        maxFrameTime = Math.max(maxFrameTime, frameTime);
+        totalRenderTime += renderTime;
+        maxRenderTime = Math.max(maxRenderTime, renderTime);
+
+        if (frameStart - windowStart >= REPORT_INTERVAL) {
+            if (GameSettings.FRAME_STATS) {
+                System.out.println(this);
+            }
+            reset(frameStart);
+        }
+    }
+
+    private void reset(long now) {
+        windowStart = now;
+        frames = 0;
+        totalFrameTime = 0;
+        minFrameTime = Long.MAX_VALUE;
+        maxFrameTime = 0;
+        totalRenderTime = 0;
+        maxRenderTime = 0;
+    }
+
+    public double getAverageFps() {
+        return totalFrameTime == 0 ? 0 : frames * 1_000_000_000.0 / totalFrameTime;
+    }
+
+    @Override
+    public String toString() {
+        if (frames == 0) return "Frames: none";
+
+        return String.format("Frames: %d | %.1f fps | frame avg %.2f ms, min %.2f ms, max %.2f ms | render avg %.2f ms, max %.2f ms",
+                frames,
+                getAverageFps(),
+                totalFrameTime / (frames * 1_000_000.0),
+                minFrameTime / 1_000_000.0,
+                maxFrameTime / 1_000_000.0,
+                totalRenderTime / (frames * 1_000_000.0),
+                maxRenderTime / 1_000_000.0);
+    }
+}
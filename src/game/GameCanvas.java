@@ -0,0 +1,65 @@
+package game;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+public class GameCanvas extends Canvas {
+    private static final long serialVersionUID = 1L;
+    private static final int BUFFER_COUNT = 2;
+
+    private final GamePanel gamePanel;
+    private final FrameStats frameStats = new FrameStats();
+
+    public GameCanvas(GamePanel gamePanel) {
+        this.gamePanel = gamePanel;
+
+        setBackground(Color.BLACK);
+        setIgnoreRepaint(true);
+        setFocusable(false);
+    }
+
+    public void render() {
+        if (!isDisplayable()) return;
+
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null) {
+            createStrategy();
+            return;
+        }
+
+        long frameStart = System.nanoTime();
+
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    gamePanel.renderScene(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+        frameStats.record(frameStart, System.nanoTime() - frameStart);
+    }
+
+    private void createStrategy() {
+        BufferCapabilities pageFlipping = new BufferCapabilities(
+                new ImageCapabilities(true),
+                new ImageCapabilities(true),
+                BufferCapabilities.FlipContents.UNDEFINED);
+
+        try {
+            createBufferStrategy(BUFFER_COUNT, pageFlipping);
+        } catch (AWTException e) {
+            createBufferStrategy(BUFFER_COUNT);
+        }
+    }
+
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+}
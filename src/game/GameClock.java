@@ -0,0 +1,9 @@
+package game;
+
+/**
+ * Source of game time in milliseconds.
+ */
+@FunctionalInterface
+public interface GameClock {
+    long currentTimeMillis();
+}
@@ -0,0 +1,210 @@
+package game;
+
+import board.Board;
+import board.FlowField;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import game.ghosts.*;
+import game.pacman.Pacman;
+import game.pacman.PacmanAnimator;
+import game.upgrades.*;
+
+/**
+ * The game rules without rendering, advanced one fixed step at a time. The same seed and
+ * inputs replay the same game.
+ */
+public class GameEngine {
+    private static final GhostStrategy[] HOUSE_GHOSTS = {new Blinky(), new Pinky(), new Inky()};
+    private static final int[] HOUSE_COLUMN_OFFSETS = {0, -1, 1};
+    private static final float COLLISION_DISTANCE = GameSettings.CELL_SIZE / 2.0f;
+
+    private final Board board;
+    private final Pacman pacman;
+    private final GhostStore ghosts;
+    private final FlowField playerField;
+    private final Pathfinder pathfinder;
+
+    private final TickScheduler scheduler = new TickScheduler(GameSettings.SIMULATION_RATE);
+    private final GameClock clock = scheduler::getElapsedMillis;
+    private final long seed;
+    private final SplittableRandom random;
+
+    private final UpgradeManager upgradeManager;
+    private UpgradeSpawner upgradeSpawner;
+    private int[] nearbyGhosts;
+
+    private GameListener listener = GameListener.NONE;
+    private boolean gameOver = false;
+
+    public GameEngine(Board board) {
+        this(board, new SplittableRandom().nextLong());
+    }
+
+    public GameEngine(Board board, long seed) {
+        this.board = board;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+
+        int width = board.getWidth();
+        int playerSpawn = board.getMaze().getPlayerSpawn();
+        int startRow = playerSpawn >= 0 ? playerSpawn / width : -1;
+        int startCol = playerSpawn >= 0 ? playerSpawn % width : -1;
+
+        List<int[]> ghostHouses = new ArrayList<>();
+        for (int house : board.getMaze().getGhostHouses()) {
+            ghostHouses.add(new int[] {house / width, house % width});
+        }
+        if (ghostHouses.isEmpty()) {
+            ghostHouses.add(new int[] {board.getHeight() / 2, board.getWidth() / 2});
+        }
+
+        pacman = new Pacman(board, clock, startRow, startCol);
+        playerField = new FlowField(board);
+        pathfinder = new Pathfinder(board);
+        ghosts = new GhostStore(board, pathfinder, clock);
+        upgradeManager = new UpgradeManager(board, clock, random.split());
+
+        initializeGhosts(ghostHouses);
+        initializeTasks();
+    }
+
+    // Every ghost house gets its own Blinky, Pinky and Inky
+    private void initializeGhosts(List<int[]> ghostHouses) {
+        for (int[] house : ghostHouses) {
+            for (int i = 0; i < HOUSE_GHOSTS.length; i++) {
+                ghosts.add(HOUSE_GHOSTS[i], random.split(), house[0], house[1] + HOUSE_COLUMN_OFFSETS[i]);
+            }
+        }
+
+        upgradeSpawner = new UpgradeSpawner(ghosts, upgradeManager, board, random.split());
+        nearbyGhosts = new int[ghosts.getCount()];
+    }
+
+    private void initializeTasks() {
+        scheduler.schedule(PacmanAnimator.FRAME_DELAY, new PacmanAnimator(pacman));
+        scheduler.schedule(GhostAnimator.FRAME_DELAY, new GhostAnimator(ghosts));
+        scheduler.scheduleEveryTick(() -> upgradeManager.updateActiveEffects(pacman, clock.currentTimeMillis()));
+        scheduler.schedule(UpgradeSpawner.SPAWN_CHECK_INTERVAL, upgradeSpawner);
+    }
+
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+        pacman.setListener(listener);
+        upgradeManager.setListener(listener);
+    }
+
+    public void step(float deltaTime) {
+        if (gameOver) return;
+
+        long currentTime = clock.currentTimeMillis();
+
+        pacman.update(deltaTime);
+        checkAndApplyPowerUps();
+
+        playerField.update(pacman.getRow(), pacman.getCol());
+        ghosts.update(currentTime, deltaTime, playerField);
+
+        checkPlayerGhostCollisions(deltaTime);
+
+        scheduler.tick();
+    }
+
+    private void checkAndApplyPowerUps() {
+        Upgrade collectedUpgrade = upgradeManager.checkPowerUpCollection(pacman);
+
+        if (collectedUpgrade != null && collectedUpgrade.applyEffect(pacman)) {
+            if (collectedUpgrade.getDuration() > 0) {
+                upgradeManager.activatePowerUp(collectedUpgrade);
+            }
+
+            pacman.addScore(50);
+
+            if (collectedUpgrade instanceof GhostKiller) {
+                ghosts.frightenAll();
+            }
+        }
+    }
+
+    private void checkPlayerGhostCollisions(float deltaTime) {
+        int playerRow = pacman.getRow();
+        int playerCol = pacman.getCol();
+        float fromX = pacman.getPreviousPixelX(), fromY = pacman.getPreviousPixelY();
+        float toX = pacman.getPixelX(), toY = pacman.getPixelY();
+
+        // However fast both moved, any ghost touched this tick is within this many cells;
+        // the extra cell covers rounding pixel positions to cells
+        float reach = Math.abs(toX - fromX) + Math.abs(toY - fromY)
+                + ghosts.getMaxSpeed() * deltaTime + COLLISION_DISTANCE;
+        int radius = (int) Math.ceil(reach / GameSettings.CELL_SIZE) + 1;
+        int nearby = ghosts.findGhostsNear(playerRow, playerCol, radius, nearbyGhosts);
+
+        for (int n = 0; n < nearby; n++) {
+            int i = nearbyGhosts[n];
+            if (ghosts.sweptContact(i, fromX, fromY, toX, toY, COLLISION_DISTANCE)) {
+                GhostState state = ghosts.getState(i);
+                if (state == GhostState.FRIGHTENED || pacman.isGhostKillerMode()) {
+                    ghosts.reset(i);
+                    pacman.addScore(200);
+                }
+                else if (state != GhostState.IN_HOME && state != GhostState.LEAVING_HOME) {
+                    boolean hasLivesLeft = pacman.loseLife();
+
+                    if (!hasLivesLeft) {
+                        gameOver = true;
+                        listener.gameOver(pacman.getScore());
+                    }
+
+                    upgradeManager.removeAllUpgrades();
+                    pacman.reset(playerRow, playerCol);
+                    ghosts.resetAll();
+                    break;
+                }
+            }
+        }
+    }
+
+    public void handleInput(int direction) {
+        pacman.setNextDirection(direction);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public GameClock getClock() {
+        return clock;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public Pacman getPlayer() {
+        return pacman;
+    }
+
+    public GhostStore getGhosts() {
+        return ghosts;
+    }
+
+    public FlowField getPlayerField() {
+        return playerField;
+    }
+
+    public Pathfinder getPathfinder() {
+        return pathfinder;
+    }
+
+    public TickScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public long getElapsedMillis() {
+        return scheduler.getElapsedMillis();
+    }
+}
@@ -0,0 +1,18 @@
+package game;
+
+import game.upgrades.Upgrade;
+
+/**
+ * Board changes and game events from a GameEngine, called on the simulation thread.
+ */
+public interface GameListener {
+    GameListener NONE = new GameListener() {};
+
+    default void dotEaten(int row, int col) {}
+
+    default void upgradeAdded(Upgrade upgrade) {}
+
+    default void upgradeRemoved(Upgrade upgrade) {}
+
+    default void gameOver(int score) {}
+}
@@ -2,122 +2,104 @@ package game;
 
 import board.Board;
 import javax.swing.*;
-import java.util.ArrayList;
-import java.util.List;
-import game.ghosts.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import game.ghosts.GhostStore;
 import game.pacman.Pacman;
-import game.pacman.PacmanAnimator;
-import game.upgrades.*;
+import game.upgrades.Upgrade;
 
-public class GameLoop {
-    private static final int FPS = 60;
-    private static final int FRAME_DELAY = 1000 / FPS;
+/**
+ * Runs a {@link GameEngine} in real time on its own thread and hands its state to the
+ * {@link GamePanel} as snapshots.
+ */
+public class GameLoop implements GameListener {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MAX_FRAME_TIME = NANOS_PER_SECOND / 4;
 
     private final GamePanel gamePanel;
     private GameWindow gameWindow;
-    private final Pacman pacman;
-    private final PacmanAnimator pacmanAnimator;
-    private final GhostAnimator ghostAnimator;
-    private final List<Ghost> ghosts = new ArrayList<>();
-
-    private UpgradeManager upgradeManager;
-    private UpgradeSpawner upgradeSpawner;
+    private final GameEngine engine;
+    private final SnapshotBuffer snapshots;
+    private final AtomicInteger pendingInput = new AtomicInteger(-1);
 
     private final Thread gameThread;
-    private boolean running = false;
+    private volatile boolean running = false;
     private boolean paused = false;
 
     public GameLoop(Board board, GamePanel gamePanel) {
         this.gamePanel = gamePanel;
 
-        char[][] layout = board.getLayout();
-        int startRow = -1, startCol = -1;
-        int ghostHomeRow = board.getHeight() / 2;
-        int ghostHomeCol = board.getWidth() / 2;
-
-        outer:
-        for (int row = 0; row < board.getHeight(); row++) {
-            for (int col = 0; col < board.getWidth(); col++) {
-                if (layout[row][col] == 'P') {
-                    startRow = row;
-                    startCol = col;
-                    board.updateTile(row, col, ' ');
-                    break outer;
-                }
-            }
-        }
+        engine = GameSettings.SEED != null ? new GameEngine(board, GameSettings.SEED) : new GameEngine(board);
+        engine.setListener(this);
 
-        outer:
-        for (int row = 0; row < board.getHeight(); row++) {
-            for (int col = 0; col < board.getWidth(); col++) {
-                if (layout[row][col] == 'G') {
-                    ghostHomeRow = row;
-                    ghostHomeCol = col;
-                    board.updateTile(row, col, ' ');
-                    break outer;
-                }
-            }
+        GhostStore ghosts = engine.getGhosts();
+        for (int i = 0; i < ghosts.getCount(); i++) {
+            gamePanel.addGhost(ghosts.getGhostName(i));
         }
 
-        pacman = new Pacman(board, startRow, startCol);
-        pacman.setGamePanel(gamePanel);
-        gamePanel.setPlayer(pacman);
-
-        initializeGhosts(board, ghostHomeRow, ghostHomeCol);
-        pacmanAnimator = new PacmanAnimator(pacman, gamePanel);
-        ghostAnimator = new GhostAnimator(ghosts, gamePanel);
-
-        initializePowerUps(board);
+        snapshots = new SnapshotBuffer(ghosts.getCount());
+        gamePanel.setSnapshots(snapshots);
+        publishSnapshot(1.0f);
 
         gameThread = new Thread(this::runGameLoop);
         gameThread.setDaemon(true);
     }
 
-    private void initializePowerUps(Board board) {
-        upgradeManager = new UpgradeManager(board);
-        upgradeManager.setBoardPanel(gamePanel.getBoardPanel());
-
-        if (!gamePanel.getGhosts().isEmpty()) {
-            upgradeSpawner = new UpgradeSpawner(gamePanel.getGhosts(), upgradeManager, board);
-        }
-    }
-
-    private void initializeGhosts(Board board, int homeRow, int homeCol) {
-        ghosts.add(new Blinky(board, homeRow, homeCol));
-        ghosts.add(new Pinky(board, homeRow, homeCol - 1));
-        ghosts.add(new Inky(board, homeRow, homeCol + 1));
-
-        for (Ghost ghost : ghosts) {
-            gamePanel.addGhost(ghost);
-        }
-    }
-
     private void runGameLoop() {
-        long lastUpdateTime = System.currentTimeMillis();
+        long stepTime = NANOS_PER_SECOND / GameSettings.SIMULATION_RATE;
+        long renderInterval = NANOS_PER_SECOND / GameSettings.RENDER_RATE;
+        float stepSeconds = 1.0f / GameSettings.SIMULATION_RATE;
+
+        long previousTime = System.nanoTime();
+        long nextRenderTime = previousTime;
+        long accumulator = 0;
 
         while (running) {
             synchronized (this) {
-                while (paused) {
-                    try {
-                        wait();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        return;
+                if (paused) {
+                    while (paused && running) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
                     }
+
+                    previousTime = System.nanoTime();
+                    nextRenderTime = previousTime;
+                    accumulator = 0;
                 }
             }
 
-            long currentTime = System.currentTimeMillis();
-            if (currentTime - lastUpdateTime >= FRAME_DELAY) {
-                update();
-                lastUpdateTime = currentTime;
+            if (!running) break;
+
+            long currentTime = System.nanoTime();
+            accumulator += Math.min(currentTime - previousTime, MAX_FRAME_TIME);
+            previousTime = currentTime;
+
+            while (accumulator >= stepTime && running) {
+                int input = pendingInput.getAndSet(-1);
+                if (input >= 0) engine.handleInput(input);
+
+                engine.step(stepSeconds);
+                accumulator -= stepTime;
+            }
+
+            if (!running) break;
+
+            if (currentTime >= nextRenderTime) {
+                render((float) accumulator / stepTime);
+                nextRenderTime += renderInterval;
+                if (nextRenderTime <= currentTime) {
+                    nextRenderTime = currentTime + renderInterval;
+                }
             }
 
-            try {
-                Thread.sleep(1);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+            long wakeTime = Math.min(currentTime + stepTime - accumulator, nextRenderTime);
+            long parkTime = wakeTime - System.nanoTime();
+            if (parkTime > 0) {
+                LockSupport.parkNanos(this, parkTime);
             }
         }
     }
@@ -125,126 +107,90 @@ public class GameLoop {
     public void start() {
         if (running) return;
         running = true;
-        pacmanAnimator.start();
-        ghostAnimator.start();
-        upgradeSpawner.start();
         gameThread.start();
     }
 
-    public void stop() {
+    public synchronized void stop() {
         if (!running) return;
         running = false;
-        pacmanAnimator.stop();
-        ghostAnimator.stop();
-        upgradeSpawner.stop();
+        paused = false;
+        notifyAll();
+        LockSupport.unpark(gameThread);
     }
 
-    private void update() {
-        long currentTime = System.currentTimeMillis();
-
-        pacman.update(currentTime);
-        checkAndApplyPowerUps(currentTime);
+    private void render(float interpolation) {
+        publishSnapshot(interpolation);
 
-        for (Ghost ghost : ghosts) {
-            ghost.update(currentTime, pacman.getRow(), pacman.getCol());
+        if (gamePanel.isActiveRendering()) {
+            gamePanel.renderFrame();
         }
-
-        checkPlayerGhostCollisions();
-
-        gamePanel.updatePlayerPosition();
-        gamePanel.updateGhostPositions();
-
-        SwingUtilities.invokeLater(() -> {
-            gamePanel.invalidate();
-            gamePanel.repaint();
-        });
     }
 
-    private void checkAndApplyPowerUps(long currentTime) {
-        Upgrade collectedUpgrade = upgradeManager.checkPowerUpCollection(pacman);
-
-        if (collectedUpgrade != null && collectedUpgrade.applyEffect(pacman)) {
-            if (collectedUpgrade.getDuration() > 0) {
-                upgradeManager.activatePowerUp(collectedUpgrade, pacman);
-            }
-
-            int points = 50 * pacman.getScoreMultiplier();
-            gameWindow.updateScore(points);
-
-            if (collectedUpgrade instanceof HealthRestore) {
-                gameWindow.updateLivesDisplay(pacman.getLives());
-            }
+    private void publishSnapshot(float interpolation) {
+        snapshots.beginWrite().capture(engine.getPlayer(), engine.getGhosts(), interpolation, engine.getElapsedMillis());
+        snapshots.publish();
+    }
 
+    // Board changes go to the thread that paints the board: this one with active rendering, else the EDT
 
-            if (collectedUpgrade instanceof GhostKiller) {
-                for (Ghost ghost : ghosts) {
-                    if (ghost.getCurrentState() != GhostState.IN_HOME &&
-                            ghost.getCurrentState() != GhostState.LEAVING_HOME) {
-                        ghost.frighten();
-                    }
-                }
-            }
+    @Override
+    public void dotEaten(int row, int col) {
+        if (gamePanel.isActiveRendering()) {
+            gamePanel.clearDot(row, col);
+        } else {
+            SwingUtilities.invokeLater(() -> gamePanel.clearDot(row, col));
         }
-
-        upgradeManager.updateActiveEffects(pacman, currentTime);
     }
 
-    private void checkPlayerGhostCollisions() {
-        int playerRow = pacman.getRow();
-        int playerCol = pacman.getCol();
-
-        for (Ghost ghost : ghosts) {
-            if (ghost.getRow() == playerRow && ghost.getCol() == playerCol) {
-                if (ghost.getCurrentState() == GhostState.FRIGHTENED || pacman.isGhostKillerMode()) {
-                    ghost.reset();
-                    int points = 200 * pacman.getScoreMultiplier();
-                    gameWindow.updateScore(points);
-
-                }
-                else if (ghost.getCurrentState() != GhostState.IN_HOME &&
-                        ghost.getCurrentState() != GhostState.LEAVING_HOME) {
-                    boolean hasLivesLeft = pacman.loseLife();
-
-                    gameWindow.updateLivesDisplay(pacman.getLives());
-
-                    if (!hasLivesLeft) {
-                        gameWindow.showGameOver();
-                        stop();
-                    }
+    @Override
+    public void upgradeAdded(Upgrade upgrade) {
+        int row = upgrade.getRow(), col = upgrade.getCol();
+        if (gamePanel.isActiveRendering()) {
+            gamePanel.getBoardPanel().addUpgrade(row, col, upgrade);
+        } else {
+            SwingUtilities.invokeLater(() -> gamePanel.getBoardPanel().addUpgrade(row, col, upgrade));
+        }
+    }
 
-                    upgradeManager.removeAllUpgrades();
-                    pacman.reset(playerRow, playerCol);
-                    gamePanel.resetGhosts();
-                    break;
-                }
-            }
+    @Override
+    public void upgradeRemoved(Upgrade upgrade) {
+        int row = upgrade.getRow(), col = upgrade.getCol();
+        if (gamePanel.isActiveRendering()) {
+            gamePanel.getBoardPanel().removeUpgrade(row, col);
+        } else {
+            SwingUtilities.invokeLater(() -> gamePanel.getBoardPanel().removeUpgrade(row, col));
         }
     }
 
+    @Override
+    public void gameOver(int score) {
+        long elapsedMillis = engine.getElapsedMillis();
+        SwingUtilities.invokeLater(() -> gameWindow.showGameOver(score, elapsedMillis));
+        stop();
+    }
+
     public void handleInput(int direction) {
-        pacman.setNextDirection(direction);
+        pendingInput.set(direction);
     }
 
     public Pacman getPlayer() {
-        return pacman;
+        return engine.getPlayer();
     }
 
     public void setGameWindow(GameWindow gameWindow) {
         this.gameWindow = gameWindow;
     }
 
+    public TickScheduler getScheduler() {
+        return engine.getScheduler();
+    }
+
     public synchronized void pause() {
         paused = true;
-        pacmanAnimator.pause();
-        ghostAnimator.pause();
-        upgradeSpawner.pause();
     }
 
     public synchronized void resume() {
         paused = false;
         notifyAll();
-        pacmanAnimator.resume();
-        ghostAnimator.resume();
-        upgradeSpawner.resume();
     }
 }
@@ -3,24 +3,49 @@ package game;
 import board.Board;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import board.BoardPanel;
-import game.ghosts.Ghost;
-import game.pacman.Pacman;
+import game.ghosts.GhostSprites;
+import game.pacman.PacmanSprites;
 
 public class GamePanel extends JLayeredPane {
-    public static final int CELL_SIZE = 30;
+    private static final long serialVersionUID = 1L;
+    public static final int CELL_SIZE = GameSettings.CELL_SIZE;
+
+    // Room the game window needs around the panel for its border, title and HUD
+    private static final int WINDOW_MARGIN_X = 60;
+    private static final int WINDOW_MARGIN_Y = 180;
 
     private final Board board;
-    private Pacman pacman;
+    private final Camera camera;
+    private final Rectangle view = new Rectangle();
     private JLabel playerLabel;
     private BoardPanel boardPanel;
+    private GameCanvas canvas;
+    private final Rectangle sceneBounds;
+
+    private SnapshotBuffer snapshots;
+    private GameWindow gameWindow;
+    private Timer labelTimer;
+
+    private final PacmanSprites pacmanSprites = new PacmanSprites();
+    private final List<GhostSprites> ghostSprites = new ArrayList<>();
+    private final Map<String, GhostSprites> spritesByName = new HashMap<>();
 
-    private final List<Ghost> ghosts = new ArrayList<>();
     private final List<JLabel> ghostLabels = new ArrayList<>();
 
+    private int shownScore = -1;
+    private int shownLives = -1;
+    private long shownSeconds = -1;
+    private boolean labelsPlaced = false;
+    private boolean firstFrameShown = false;
+
     private static final int BOARD_LAYER = 0;
     private static final int GHOST_LAYER = 1;
     private static final int PLAYER_LAYER = 2;
@@ -31,103 +56,211 @@ public class GamePanel extends JLayeredPane {
         setBackground(Color.BLACK);
         setOpaque(true);
 
-        int width = board.getWidth() * CELL_SIZE;
-        int height = board.getHeight() * CELL_SIZE;
-        
+        Dimension viewport = getViewportSize();
+        camera = new Camera(board.getWidth() * CELL_SIZE, board.getHeight() * CELL_SIZE, viewport.width, viewport.height);
+        int spawn = board.getMaze().getPlayerSpawn();
+        if (spawn >= 0) {
+            camera.follow((spawn % board.getWidth() + 0.5f) * CELL_SIZE, (spawn / board.getWidth() + 0.5f) * CELL_SIZE);
+        }
+
+        int width = camera.getViewWidth();
+        int height = camera.getViewHeight();
+
         setPreferredSize(new Dimension(width, height));
         setSize(width, height);
-        
+        sceneBounds = new Rectangle(0, 0, width, height);
+
         setLayout(null);
-    
-        initializeBoard();
+
+        if (GameSettings.ACTIVE_RENDERING) {
+            initializeCanvas();
+        } else {
+            initializeBoard();
+        }
+
+        // The board's chunk cache is sized to what is on screen, which changes with the window
+        boardPanel.setViewportSize(width, height);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                boardPanel.setViewportSize(getWidth(), getHeight());
+            }
+        });
+    }
+
+    // The whole board if it fits on the screen, otherwise as many whole cells as do or as configured
+    private static Dimension getViewportSize() {
+        Rectangle screen = GraphicsEnvironment.isHeadless()
+                ? new Rectangle(1280, 800)
+                : GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
+
+        int columns = GameSettings.VIEW_COLUMNS > 0 ? GameSettings.VIEW_COLUMNS : (screen.width - WINDOW_MARGIN_X) / CELL_SIZE;
+        int rows = GameSettings.VIEW_ROWS > 0 ? GameSettings.VIEW_ROWS : (screen.height - WINDOW_MARGIN_Y) / CELL_SIZE;
+        return new Dimension(Math.max(1, columns) * CELL_SIZE, Math.max(1, rows) * CELL_SIZE);
     }
-    
+
     private void initializeBoard() {
         boardPanel = new BoardPanel(board);
-    
+
+        // The board panel is as large as the whole board and slides under the viewport
         int width = board.getWidth() * CELL_SIZE;
         int height = board.getHeight() * CELL_SIZE;
-        boardPanel.setBounds(0, 0, width, height);
+        boardPanel.setBounds(-camera.getX(), -camera.getY(), width, height);
         add(boardPanel, Integer.valueOf(BOARD_LAYER));
-    
+
         playerLabel = new JLabel();
         playerLabel.setBounds(0, 0, CELL_SIZE, CELL_SIZE);
         add(playerLabel, Integer.valueOf(PLAYER_LAYER));
+
+        labelTimer = new Timer(Math.max(1, 1000 / GameSettings.RENDER_RATE), e -> updateLabels());
     }
 
-    public void setPlayer(Pacman pacman) {
-        this.pacman = pacman;
-        updatePlayerSprite();
-        updatePlayerPosition();
+    private void initializeCanvas() {
+        boardPanel = new BoardPanel(board);
+        canvas = new GameCanvas(this);
+
+        canvas.setBounds(sceneBounds);
+        add(canvas, Integer.valueOf(BOARD_LAYER));
     }
 
-    public void addGhost(Ghost ghost) {
-        ghosts.add(ghost);
-        ghost.setGamePanel(this);
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (labelTimer != null) labelTimer.start();
+    }
 
-        JLabel ghostLabel = new JLabel();
-        ghostLabel.setBounds(0, 0, CELL_SIZE, CELL_SIZE);
-        add(ghostLabel, Integer.valueOf(GHOST_LAYER));
-        ghostLabels.add(ghostLabel);
+    @Override
+    public void removeNotify() {
+        if (labelTimer != null) labelTimer.stop();
+        super.removeNotify();
+    }
 
-        ImageIcon icon = ghost.getCurrentIcon();
-        ghostLabel.setIcon(icon);
+    public boolean isActiveRendering() {
+        return canvas != null;
+    }
+
+    public void setSnapshots(SnapshotBuffer snapshots) {
+        this.snapshots = snapshots;
+    }
 
-        int x = Math.round(ghost.getPixelX());
-        int y = Math.round(ghost.getPixelY());
-        ghostLabel.setLocation(x, y);
+    public void setGameWindow(GameWindow gameWindow) {
+        this.gameWindow = gameWindow;
     }
 
-    public List<Ghost> getGhosts() {
-        return ghosts;
+    public void renderFrame() {
+        canvas.render();
     }
 
-    public void resetGhosts() {
-        for (Ghost ghost : ghosts) {
-            ghost.reset();
+    public void renderScene(Graphics2D g) {
+        WorldSnapshot snapshot = snapshots != null ? snapshots.acquire() : null;
+        if (snapshot != null) followPacman(snapshot);
+
+        g.setColor(Color.BLACK);
+        g.fillRect(sceneBounds.x, sceneBounds.y, sceneBounds.width, sceneBounds.height);
+
+        g.translate(-camera.getX(), -camera.getY());
+        try {
+            boardPanel.paintBoard(g, camera.getView(view));
+            if (snapshot == null) return;
+
+            int ghostCount = Math.min(snapshot.getGhostCount(), ghostSprites.size());
+            for (int i = 0; i < ghostCount; i++) {
+                if (!camera.isVisible(snapshot.getGhostX(i), snapshot.getGhostY(i), CELL_SIZE)) continue;
+
+                Sprite icon = ghostSprites.get(i).getIcon(snapshot.getGhostDirection(i), snapshot.getGhostFrame(i));
+                drawSprite(g, icon, snapshot.getGhostX(i), snapshot.getGhostY(i));
+            }
+
+            Sprite icon = pacmanSprites.getIcon(snapshot.getPacmanDirection(), snapshot.getPacmanFrame());
+            drawSprite(g, icon, snapshot.getPacmanX(), snapshot.getPacmanY());
+        } finally {
+            g.translate(camera.getX(), camera.getY());
         }
-        updateGhostPositions();
-        updateGhostSprites();
+
+        updateHud(snapshot);
+        markFirstFrame();
     }
 
-    public void updatePlayerPosition() {
-        int x = Math.round(pacman.getPixelX());
-        int y = Math.round(pacman.getPixelY());
-        playerLabel.setLocation(x, y);
+    private boolean followPacman(WorldSnapshot snapshot) {
+        return camera.follow(snapshot.getPacmanX() + CELL_SIZE / 2f, snapshot.getPacmanY() + CELL_SIZE / 2f);
+    }
 
-        boardPanel.repaint();
-        repaint();
+    private void drawSprite(Graphics2D g, Sprite sprite, float pixelX, float pixelY) {
+        if (sprite == null) return;
+        sprite.draw(g, Math.round(pixelX), Math.round(pixelY));
     }
 
-    public void updateGhostPositions() {
-        for (int i = 0; i < ghosts.size(); i++) {
-            Ghost ghost = ghosts.get(i);
-            JLabel ghostLabel = ghostLabels.get(i);
+    private void updateLabels() {
+        if (snapshots == null) return;
+        WorldSnapshot snapshot = snapshots.acquire();
 
-            int x = Math.round(ghost.getPixelX());
-            int y = Math.round(ghost.getPixelY());
-            ghostLabel.setLocation(x, y);
+        if (followPacman(snapshot)) boardPanel.setLocation(-camera.getX(), -camera.getY());
+
+        int ghostCount = Math.min(snapshot.getGhostCount(), ghostLabels.size());
+        for (int i = 0; i < ghostCount; i++) {
+            JLabel ghostLabel = ghostLabels.get(i);
+            boolean visible = camera.isVisible(snapshot.getGhostX(i), snapshot.getGhostY(i), CELL_SIZE);
+            if (visible) {
+                ghostLabel.setIcon(ghostSprites.get(i).getIcon(snapshot.getGhostDirection(i), snapshot.getGhostFrame(i)));
+                ghostLabel.setLocation(Math.round(snapshot.getGhostX(i)) - camera.getX(),
+                        Math.round(snapshot.getGhostY(i)) - camera.getY());
+            }
+            if (ghostLabel.isVisible() != visible) ghostLabel.setVisible(visible);
         }
 
-        boardPanel.repaint();
-        repaint();
+        playerLabel.setIcon(pacmanSprites.getIcon(snapshot.getPacmanDirection(), snapshot.getPacmanFrame()));
+        playerLabel.setLocation(Math.round(snapshot.getPacmanX()) - camera.getX(),
+                Math.round(snapshot.getPacmanY()) - camera.getY());
+        labelsPlaced = true;
+
+        updateHud(snapshot);
     }
 
-    public void updatePlayerSprite() {
-        ImageIcon icon = pacman.getCurrentIcon();
-        playerLabel.setIcon(icon);
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        // With sprite labels the first frame is the first paint after they were placed
+        if (labelsPlaced) markFirstFrame();
     }
 
-    public void updateGhostSprites() {
-        for (int i = 0; i < ghosts.size(); i++) {
-            Ghost ghost = ghosts.get(i);
-            JLabel ghostLabel = ghostLabels.get(i);
+    private void markFirstFrame() {
+        if (firstFrameShown) return;
+        firstFrameShown = true;
+        StartupLoader.markFirstFrame();
+    }
+
+    private void updateHud(WorldSnapshot snapshot) {
+        if (gameWindow == null) return;
+
+        int score = snapshot.getScore();
+        int lives = snapshot.getLives();
+        long seconds = snapshot.getElapsedMillis() / 1000;
 
-            ImageIcon icon = ghost.getCurrentIcon();
-            ghostLabel.setIcon(icon);
+        if (score == shownScore && lives == shownLives && seconds == shownSeconds) return;
+
+        shownScore = score;
+        shownLives = lives;
+        shownSeconds = seconds;
+
+        if (SwingUtilities.isEventDispatchThread()) {
+            gameWindow.updateHud(score, lives, seconds);
+        } else {
+            SwingUtilities.invokeLater(() -> gameWindow.updateHud(score, lives, seconds));
         }
     }
 
+    public void addGhost(String ghostName) {
+        // Ghosts of the same kind share one set of sprites
+        ghostSprites.add(spritesByName.computeIfAbsent(ghostName, GhostSprites::new));
+
+        if (isActiveRendering()) return;
+
+        JLabel ghostLabel = new JLabel();
+        ghostLabel.setBounds(0, 0, CELL_SIZE, CELL_SIZE);
+        add(ghostLabel, Integer.valueOf(GHOST_LAYER));
+        ghostLabels.add(ghostLabel);
+    }
+
     public void clearDot(int row, int col) {
         if (row >= 0 && row < board.getHeight() && col >= 0 && col < board.getWidth()) {
             boardPanel.clearDot(row, col);
@@ -137,4 +270,4 @@ public class GamePanel extends JLayeredPane {
     public BoardPanel getBoardPanel() {
         return boardPanel;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package game;
+
+public class GameSettings {
+    public static final int CELL_SIZE = 30;
+
+    public static final boolean ACTIVE_RENDERING = Boolean.getBoolean("pacman.activeRendering");
+    public static final boolean FRAME_STATS = Boolean.getBoolean("pacman.frameStats");
+    public static final Long SEED = Long.getLong("pacman.seed");
+    /** Most cells shown across and down; 0 fits the game window on the screen. */
+    public static final int VIEW_COLUMNS = Integer.getInteger("pacman.viewColumns", 0);
+    public static final int VIEW_ROWS = Integer.getInteger("pacman.viewRows", 0);
+
+    private static final int DEFAULT_SIMULATION_RATE = 60;
+    private static final int DEFAULT_RENDER_RATE = 60;
+
+    public static final int SIMULATION_RATE = readSimulationRate();
+    public static final int RENDER_RATE = readRenderRate();
+
+    private static int readSimulationRate() {
+        int rate = Integer.getInteger("pacman.simulationRate", DEFAULT_SIMULATION_RATE);
+
+        if (rate != 60 && rate != 120 && rate != 240) {
+            System.err.println("Unsupported simulation rate " + rate + " Hz, using " + DEFAULT_SIMULATION_RATE + " Hz");
+            return DEFAULT_SIMULATION_RATE;
+        }
+        return rate;
+    }
+
+    private static int readRenderRate() {
+        int rate = Integer.getInteger("pacman.renderRate", DEFAULT_RENDER_RATE);
+
+        if (rate < 1 || rate > 1000) {
+            System.err.println("Unsupported render rate " + rate + " Hz, using " + DEFAULT_RENDER_RATE + " Hz");
+            return DEFAULT_RENDER_RATE;
+        }
+        return rate;
+    }
+}
@@ -6,13 +6,14 @@ import menu.MainMenu;
 import menu.PauseMenu;
 import score.ScoreManager;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.io.IOException;
 
 public class GameWindow extends JFrame {
+    private static final long serialVersionUID = 1L;
+    private static final int LIFE_ICON_SIZE = 20;
+
     private final Board board;
     private GameLoop gameLoop;
     private GamePanel gamePanel;
@@ -21,11 +22,10 @@ public class GameWindow extends JFrame {
     private JLabel timerLabel;
     private JPanel livesPanel;
 
-    private ImageIcon lifeIcon;
+    private Sprite lifeIcon;
 
-    private int score = 0;
+    private int shownLives = -1;
     private boolean isPaused = false;
-    private long startTime;
 
     public GameWindow(Board board) {
         this.board = board;
@@ -78,15 +78,10 @@ public class GameWindow extends JFrame {
 
         gameLoop = new GameLoop(board, gamePanel);
         gameLoop.setGameWindow(this);
-
-        Pacman pacman = gameLoop.getPlayer();
-        pacman.setGamePanel(gamePanel);
+        gamePanel.setGameWindow(this);
 
         loadLifeIcon();
-        updateLivesDisplay(pacman.getLives());
-
-        startTime = System.currentTimeMillis();
-        new Thread(this::runTimer).start();
+        updateLivesDisplay(gameLoop.getPlayer().getLives());
 
         add(mainPanel);
     }
@@ -112,16 +107,18 @@ public class GameWindow extends JFrame {
         return livesContainer;
     }
 
+    static void preloadIcons() {
+        AssetCache.getInstance().getSprite("/assets/upgrades/health.png", LIFE_ICON_SIZE);
+    }
+
     private void loadLifeIcon() {
-        try {
-            Image img = ImageIO.read(getClass().getResourceAsStream("/assets/upgrades/health.png"));
-            lifeIcon = new ImageIcon(img.getScaledInstance(20, 20, Image.SCALE_SMOOTH));
-        } catch (IOException e) {
-            throw new RuntimeException("Could not load life icon image", e);
-        }
+        lifeIcon = AssetCache.getInstance().getSprite("/assets/upgrades/health.png", LIFE_ICON_SIZE);
     }
 
-    public void updateLivesDisplay(int lives) {
+    private void updateLivesDisplay(int lives) {
+        if (lives == shownLives) return;
+        shownLives = lives;
+
         livesPanel.removeAll();
 
         for (int i = 0; i < lives; i++) {
@@ -132,21 +129,10 @@ public class GameWindow extends JFrame {
         livesPanel.repaint();
     }
 
-    private void runTimer() {
-        while (true) {
-            if (!isPaused) {
-                long elapsed = (System.currentTimeMillis() - startTime) / 1000;
-                String time = String.format("TIME: %02d:%02d", elapsed / 60, elapsed % 60);
-                SwingUtilities.invokeLater(() -> timerLabel.setText(time));
-            }
-
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-        }
+    public void updateHud(int score, int lives, long elapsedSeconds) {
+        scoreLabel.setText("SCORE: " + score);
+        timerLabel.setText(String.format("TIME: %02d:%02d", elapsedSeconds / 60, elapsedSeconds % 60));
+        updateLivesDisplay(lives);
     }
 
     private void setupKeyboardControls() {
@@ -179,11 +165,6 @@ public class GameWindow extends JFrame {
         });
     }
 
-    public void updateScore(int points) {
-        score += points;
-        scoreLabel.setText("SCORE: " + score);
-    }
-
     public void togglePause() {
         if (isPaused) {
             resumeGame();
@@ -204,9 +185,8 @@ public class GameWindow extends JFrame {
         requestFocusInWindow();
     }
 
-    public void showGameOver() {
-        long endTime = System.currentTimeMillis();
-        int duration = (int) ((endTime - startTime) / 1000);
+    public void showGameOver(int score, long elapsedMillis) {
+        int duration = (int) (elapsedMillis / 1000);
 
         ScoreManager.addScore(score, duration);
         exitToMainMenu();
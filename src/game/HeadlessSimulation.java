@@ -0,0 +1,95 @@
+package game;
+
+import board.Board;
+import board.BoardManager;
+import game.pacman.Pacman;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+/**
+ * Runs games without a display, steering Pac-Man with a bot.
+ * Usage: HeadlessSimulation [map] [maxTicks] [seed] [games] [random|dots]
+ */
+public class HeadlessSimulation {
+    private static final long DEFAULT_MAX_TICKS = 60L * 60 * GameSettings.SIMULATION_RATE;
+    private static final int TURN_INTERVAL_TICKS = GameSettings.SIMULATION_RATE / 2;
+
+    public static void main(String[] args) {
+        String mapName = args.length > 0 ? args[0] : "small";
+        long maxTicks = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_MAX_TICKS;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : new SplittableRandom().nextLong();
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        boolean dotBot = args.length > 4 && args[4].equals("dots");
+
+        BoardManager boardManager = new BoardManager();
+        for (int game = 0; game < games; game++) {
+            // Games eat dots from the board they run on, so each one gets its own copy
+            Board board = boardManager.getBoard(mapName);
+            if (board == null) {
+                System.err.println("Unknown map " + mapName);
+                return;
+            }
+
+            runGame(mapName, board, maxTicks, seed + game, dotBot);
+        }
+    }
+
+    private static void runGame(String mapName, Board board, long maxTicks, long seed, boolean dotBot) {
+        GameEngine engine = new GameEngine(board, seed);
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        float stepSeconds = 1.0f / GameSettings.SIMULATION_RATE;
+
+        long startTime = System.nanoTime();
+        long allocatedBefore = allocatedBytes();
+        long ticks = 0;
+        int lastCell = -1;
+
+        while (ticks < maxTicks && !engine.isGameOver()) {
+            Pacman player = engine.getPlayer();
+            int cell = player.getRow() * board.getWidth() + player.getCol();
+            int dotDirection = -1;
+            if (dotBot && cell != lastCell) {
+                dotDirection = closestVisibleDot(board, player.getRow(), player.getCol());
+                lastCell = cell;
+            }
+
+            if (dotDirection >= 0) {
+                engine.handleInput(dotDirection);
+            } else if (ticks % TURN_INTERVAL_TICKS == 0) {
+                engine.handleInput(random.nextInt(4));
+            }
+            engine.step(stepSeconds);
+            ticks++;
+        }
+
+        long allocated = allocatedBytes() - allocatedBefore;
+        double wallSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        Pacman pacman = engine.getPlayer();
+
+        System.out.printf("Map %s, seed %d: %d ticks (%.1f s game time) in %.2f s, %.0f ticks/s%n",
+                mapName, seed, ticks, engine.getElapsedMillis() / 1000.0, wallSeconds, ticks / wallSeconds);
+        System.out.printf("Score %d, lives %d, %d dots left, %s, allocated %d bytes (%.2f bytes/tick)%n",
+                pacman.getScore(), pacman.getLives(), board.getRemainingDots(),
+                engine.isGameOver() ? "game over" : "still running",
+                allocated, (double) allocated / Math.max(1, ticks));
+    }
+
+    private static int closestVisibleDot(Board board, int row, int col) {
+        int bestDirection = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int dir = 0; dir < 4; dir++) {
+            int distance = board.findVisibleDot(row, col, dir);
+            if (distance > 0 && distance < bestDistance) {
+                bestDistance = distance;
+                bestDirection = dir;
+            }
+        }
+        return bestDirection;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
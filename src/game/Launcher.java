@@ -4,6 +4,7 @@ import menu.MainMenu;
 
 public class Launcher {
     public static void main(String[] args) {
+        StartupLoader.start();
         new MainMenu();
     }
 }
@@ -0,0 +1,40 @@
+package game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer handing snapshots from the simulation thread to the render thread.
+ */
+public class SnapshotBuffer {
+    private static final int INDEX_MASK = 0b011;
+    private static final int FRESH = 0b100;
+
+    private final WorldSnapshot[] buffers = new WorldSnapshot[3];
+    private final AtomicInteger shared = new AtomicInteger(1);
+
+    private int writeIndex = 0;
+    private int readIndex = 2;
+
+    public SnapshotBuffer(int ghostCapacity) {
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new WorldSnapshot(ghostCapacity);
+        }
+    }
+
+    // Simulation thread only
+    public WorldSnapshot beginWrite() {
+        return buffers[writeIndex];
+    }
+
+    public void publish() {
+        writeIndex = shared.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+    }
+
+    // Render thread only; the result stays valid until the next call
+    public WorldSnapshot acquire() {
+        if ((shared.get() & FRESH) != 0) {
+            readIndex = shared.getAndSet(readIndex) & INDEX_MASK;
+        }
+        return buffers[readIndex];
+    }
+}
@@ -0,0 +1,41 @@
+package game;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * A square frame in an AssetCache atlas page.
+ */
+public final class Sprite implements Icon {
+    private final BufferedImage page;
+    private final int x;
+    private final int y;
+    private final int size;
+
+    Sprite(BufferedImage page, int x, int y, int size) {
+        this.page = page;
+        this.x = x;
+        this.y = y;
+        this.size = size;
+    }
+
+    public void draw(Graphics g, int left, int top) {
+        g.drawImage(page, left, top, left + size, top + size, x, y, x + size, y + size, null);
+    }
+
+    @Override
+    public void paintIcon(Component c, Graphics g, int left, int top) {
+        draw(g, left, top);
+    }
+
+    @Override
+    public int getIconWidth() {
+        return size;
+    }
+
+    @Override
+    public int getIconHeight() {
+        return size;
+    }
+}
@@ -0,0 +1,107 @@
+package game;
+
+import board.Board;
+import board.BoardManager;
+import board.MazeGenerator;
+import game.ghosts.GhostSprites;
+import game.pacman.PacmanSprites;
+import game.upgrades.UpgradeSprites;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads sprites and maps in the background while the player is in the menus, and logs
+ * time-to-first-frame.
+ */
+public final class StartupLoader {
+    private static final String[] GHOST_NAMES = {"blinky", "pinky", "inky"};
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), new LoaderThreadFactory());
+
+    private static volatile long gameRequestedAt = 0;
+    private static StartupLoader instance;
+
+    private final long startedAt = System.nanoTime();
+    private final CompletableFuture<Void> assets;
+    private final BoardManager boardManager;
+
+    private StartupLoader() {
+        assets = preloadAssets();
+        boardManager = new BoardManager(EXECUTOR);
+        boardManager.preloadAll();
+    }
+
+    public static synchronized StartupLoader start() {
+        if (instance == null) instance = new StartupLoader();
+        return instance;
+    }
+
+    public static StartupLoader getInstance() {
+        return start();
+    }
+
+    private CompletableFuture<Void> preloadAssets() {
+        List<CompletableFuture<?>> tasks = new ArrayList<>();
+        tasks.add(CompletableFuture.runAsync(PacmanSprites::new, EXECUTOR));
+        for (String name : GHOST_NAMES) {
+            tasks.add(CompletableFuture.runAsync(() -> new GhostSprites(name), EXECUTOR));
+        }
+        tasks.add(CompletableFuture.runAsync(UpgradeSprites::preload, EXECUTOR));
+        tasks.add(CompletableFuture.runAsync(GameWindow::preloadIcons, EXECUTOR));
+
+        return CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> System.out.printf("Preloaded %d images in %.1f ms%n",
+                        AssetCache.getInstance().getDecodedCount(), millisSince(startedAt)));
+    }
+
+    // Boards complete with null if there is no such map or it could not be loaded
+    public CompletableFuture<Board> getBoard(String name) {
+        return boardManager.getBoardFuture(name).thenCombine(assets, (board, ignored) -> board);
+    }
+
+    public CompletableFuture<Board> generateBoard(int size, long seed) {
+        return CompletableFuture.supplyAsync(() -> new MazeGenerator(size, size, seed).createBoard(), EXECUTOR)
+                .thenCombine(assets, (board, ignored) -> board);
+    }
+
+    public List<String> getMapNames() {
+        return boardManager.getMapNames();
+    }
+
+    public static void markGameRequested() {
+        gameRequestedAt = System.nanoTime();
+    }
+
+    // Only the first call per game logs
+    static void markFirstFrame() {
+        long requestedAt = gameRequestedAt;
+        gameRequestedAt = 0;
+        if (requestedAt == 0) return;
+
+        System.out.printf("First frame %.1f ms after choosing the board, %.2f s after launch%n",
+                millisSince(requestedAt), ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0);
+    }
+
+    private static double millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private static final class LoaderThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "startup-loader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TickScheduler {
+    private final int ticksPerSecond;
+    private final List<Task> tasks = new ArrayList<>();
+    private long currentTick = 0;
+
+    public TickScheduler(int ticksPerSecond) {
+        this.ticksPerSecond = ticksPerSecond;
+    }
+
+    public void schedule(long periodMillis, Runnable action) {
+        long periodTicks = Math.max(1, Math.round(periodMillis * ticksPerSecond / 1000.0));
+        tasks.add(new Task(action, periodTicks, currentTick + periodTicks));
+    }
+
+    public void scheduleEveryTick(Runnable action) {
+        tasks.add(new Task(action, 1, currentTick + 1));
+    }
+
+    public void tick() {
+        currentTick++;
+
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (currentTick >= task.nextTick) {
+                task.nextTick += task.periodTicks;
+                task.action.run();
+            }
+        }
+    }
+
+    public void cancelAll() {
+        tasks.clear();
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public long getElapsedMillis() {
+        return currentTick * 1000 / ticksPerSecond;
+    }
+
+    private static class Task {
+        private final Runnable action;
+        private final long periodTicks;
+        private long nextTick;
+
+        private Task(Runnable action, long periodTicks, long nextTick) {
+            this.action = action;
+            this.periodTicks = periodTicks;
+            this.nextTick = nextTick;
+        }
+    }
+}
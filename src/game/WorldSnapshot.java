@@ -0,0 +1,67 @@
+package game;
+
+import game.ghosts.GhostStore;
+import game.pacman.Pacman;
+
+public class WorldSnapshot {
+    private float pacmanX;
+    private float pacmanY;
+    private int pacmanDirection;
+    private int pacmanFrame;
+
+    private int ghostCount;
+    private final float[] ghostX;
+    private final float[] ghostY;
+    private final int[] ghostDirection;
+    private final int[] ghostFrame;
+    private final int[] ghostState;
+
+    private int score;
+    private int lives;
+    private long elapsedMillis;
+
+    public WorldSnapshot(int ghostCapacity) {
+        ghostX = new float[ghostCapacity];
+        ghostY = new float[ghostCapacity];
+        ghostDirection = new int[ghostCapacity];
+        ghostFrame = new int[ghostCapacity];
+        ghostState = new int[ghostCapacity];
+    }
+
+    public void capture(Pacman pacman, GhostStore ghosts, float interpolation, long elapsedMillis) {
+        pacmanX = pacman.getRenderX(interpolation);
+        pacmanY = pacman.getRenderY(interpolation);
+        pacmanDirection = pacman.getDirection();
+        pacmanFrame = pacman.getAnimationFrame();
+
+        ghostCount = Math.min(ghosts.getCount(), ghostX.length);
+        int frame = ghosts.getAnimationFrame();
+        for (int i = 0; i < ghostCount; i++) {
+            ghostX[i] = ghosts.getRenderX(i, interpolation);
+            ghostY[i] = ghosts.getRenderY(i, interpolation);
+            ghostDirection[i] = ghosts.getDirection(i);
+            ghostFrame[i] = frame;
+            ghostState[i] = ghosts.getState(i).ordinal();
+        }
+
+        score = pacman.getScore();
+        lives = pacman.getLives();
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public float getPacmanX() { return pacmanX; }
+    public float getPacmanY() { return pacmanY; }
+    public int getPacmanDirection() { return pacmanDirection; }
+    public int getPacmanFrame() { return pacmanFrame; }
+
+    public int getGhostCount() { return ghostCount; }
+    public float getGhostX(int index) { return ghostX[index]; }
+    public float getGhostY(int index) { return ghostY[index]; }
+    public int getGhostDirection(int index) { return ghostDirection[index]; }
+    public int getGhostFrame(int index) { return ghostFrame[index]; }
+    public int getGhostState(int index) { return ghostState[index]; }
+
+    public int getScore() { return score; }
+    public int getLives() { return lives; }
+    public long getElapsedMillis() { return elapsedMillis; }
+}
@@ -1,37 +1,40 @@
 package game.ghosts;
 
 import board.Board;
-import java.awt.Color;
+import board.FlowField;
 
-public class Blinky extends Ghost {
+public class Blinky implements GhostStrategy {
 
-    private int lastPlayerRow = 0;
-    private int lastPlayerCol = 0;
-    private long lastPlayerPositionUpdateTime = 0;
     private static final long PLAYER_POSITION_UPDATE_DELAY = 300;
 
-    public Blinky(Board board, int startRow, int startCol) {
-        super(board, startRow, startCol, "blinky", Color.RED, 0, board.getWidth() - 1);
+    @Override
+    public String getName() {
+        return "blinky";
+    }
 
-        speed = BASE_GHOST_SPEED * 1.05f;
+    @Override
+    public float getSpeedFactor() {
+        return 1.05f;
     }
 
     @Override
-    protected void chase(float deltaTime, int playerRow, int playerCol) {
-        long currentTime = System.currentTimeMillis();
+    public int getScatterRow(Board board) {
+        return 0;
+    }
 
-        if (currentTime - lastPlayerPositionUpdateTime > PLAYER_POSITION_UPDATE_DELAY) {
-            lastPlayerRow = playerRow;
-            lastPlayerCol = playerCol;
-            lastPlayerPositionUpdateTime = currentTime;
-        }
+    @Override
+    public int getScatterCol(Board board) {
+        return board.getWidth() - 1;
+    }
 
-        decideNextDirection(lastPlayerRow, lastPlayerCol);
-        moveInDirection(deltaTime);
+    @Override
+    public void chase(GhostStore ghosts, int ghost, long currentTime, float deltaTime, FlowField playerField) {
+        ghosts.followField(ghost, playerField, currentTime, PLAYER_POSITION_UPDATE_DELAY);
+        ghosts.moveInDirection(ghost, deltaTime);
     }
 
     @Override
-    protected boolean shouldLeaveHome(long currentTime) {
+    public boolean shouldLeaveHome(GhostStore ghosts, int ghost, long currentTime) {
         return true;
     }
 }
@@ -0,0 +1,69 @@
+package game.ghosts;
+
+import java.util.Arrays;
+
+/**
+ * Ghosts bucketed by cell, as intrusive linked lists through per-ghost arrays.
+ */
+final class GhostGrid {
+    static final int NONE = -1;
+
+    private final int width;
+    private final int height;
+    private final int[] head;
+
+    private int[] cellOf = new int[0];
+    private int[] next = new int[0];
+    private int[] previous = new int[0];
+
+    GhostGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        head = new int[width * height];
+        Arrays.fill(head, NONE);
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity <= cellOf.length) return;
+
+        int oldCapacity = cellOf.length;
+        cellOf = Arrays.copyOf(cellOf, capacity);
+        next = Arrays.copyOf(next, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+        Arrays.fill(cellOf, oldCapacity, capacity, NONE);
+    }
+
+    // Ghosts outside the board are kept out of the grid
+    void move(int ghost, int row, int col) {
+        int cell = row >= 0 && row < height && col >= 0 && col < width ? row * width + col : NONE;
+        if (cellOf[ghost] == cell) return;
+
+        unlink(ghost);
+        cellOf[ghost] = cell;
+        if (cell == NONE) return;
+
+        previous[ghost] = NONE;
+        next[ghost] = head[cell];
+        if (head[cell] != NONE) previous[head[cell]] = ghost;
+        head[cell] = ghost;
+    }
+
+    private void unlink(int ghost) {
+        int cell = cellOf[ghost];
+        if (cell == NONE) return;
+
+        if (previous[ghost] != NONE) next[previous[ghost]] = next[ghost];
+        else head[cell] = next[ghost];
+
+        if (next[ghost] != NONE) previous[next[ghost]] = previous[ghost];
+    }
+
+    int first(int row, int col) {
+        if (row < 0 || row >= height || col < 0 || col >= width) return NONE;
+        return head[row * width + col];
+    }
+
+    int next(int ghost) {
+        return next[ghost];
+    }
+}
@@ -0,0 +1,35 @@
+package game.ghosts;
+
+import game.AssetCache;
+import game.GamePanel;
+import game.Sprite;
+
+public class GhostSprites {
+    private static final int CELL_SIZE = GamePanel.CELL_SIZE;
+    private static final String[] DIRECTIONS = {"right", "down", "left", "up"};
+
+    private final Sprite[][] icons = new Sprite[DIRECTIONS.length][2];
+
+    public GhostSprites(String ghostName) {
+        try {
+            for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+                icons[dir][0] = loadFrame(ghostName, DIRECTIONS[dir], "1");
+                icons[dir][1] = loadFrame(ghostName, DIRECTIONS[dir], "2");
+            }
+        } catch (IllegalArgumentException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private Sprite loadFrame(String ghostName, String direction, String frameNumber) {
+        String path = String.format("/assets/ghosts/%s/%s_%s.png", ghostName, direction, frameNumber);
+        return AssetCache.getInstance().getSprite(path, CELL_SIZE);
+    }
+
+    public Sprite getIcon(int direction, int frame) {
+        if (direction < 0 || direction >= icons.length || frame < 0 || frame >= icons[direction].length) {
+            return null;
+        }
+        return icons[direction][frame];
+    }
+}
@@ -0,0 +1,631 @@
+package game.ghosts;
+
+import board.Board;
+import board.DistanceTable;
+import board.FlowField;
+import game.GameClock;
+import game.GameSettings;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * All ghosts as parallel arrays indexed by ghost number; behaviour comes from stateless strategies.
+ */
+public class GhostStore {
+    public static final int RIGHT = 0;
+    public static final int DOWN = 1;
+    public static final int LEFT = 2;
+    public static final int UP = 3;
+
+    static final float BASE_GHOST_SPEED = 100.0f;
+
+    private static final long SCATTER_DURATION = 7000;
+    private static final float ALIGNMENT_TOLERANCE = 4.0f;
+    private static final int CHUNK_SIZE = 64;
+    private static final int PARALLEL_THRESHOLD = 4 * CHUNK_SIZE;
+
+    private static final GhostState[] STATES = GhostState.values();
+    private static final byte IN_HOME = (byte) GhostState.IN_HOME.ordinal();
+    private static final byte LEAVING_HOME = (byte) GhostState.LEAVING_HOME.ordinal();
+    private static final byte CHASE = (byte) GhostState.CHASE.ordinal();
+    private static final byte SCATTER = (byte) GhostState.SCATTER.ordinal();
+    private static final byte FRIGHTENED = (byte) GhostState.FRIGHTENED.ordinal();
+
+    private final Board board;
+    private final GameClock clock;
+    private final GhostGrid grid;
+    private Pathfinder[] pathfinders;
+
+    private UpdateTask updateTask;
+    // Arguments of the current tick, read by the chunk tasks
+    private long tickTime;
+    private float tickDeltaTime;
+    private FlowField tickField;
+
+    private GhostStrategy[] strategies = new GhostStrategy[0];
+    private int[] strategyScatterCells = new int[0];
+
+    private int count = 0;
+    private int[] row = new int[0];
+    private int[] col = new int[0];
+    private int[] cell = new int[0];
+    private float[] pixelX = new float[0];
+    private float[] pixelY = new float[0];
+    private float[] previousPixelX = new float[0];
+    private float[] previousPixelY = new float[0];
+    private int[] direction = new int[0];
+    private int[] nextDirection = new int[0];
+    private byte[] state = new byte[0];
+    private long[] stateChangeTime = new long[0];
+    private long[] lastDecisionTime = new long[0];
+    private int[] targetRow = new int[0];
+    private int[] targetCol = new int[0];
+    private long[] lastTargetUpdateTime = new long[0];
+    private float[] speed = new float[0];
+    private byte[] strategy = new byte[0];
+    private int[] homeRow = new int[0];
+    private int[] homeCol = new int[0];
+    private int[] scatterRow = new int[0];
+    private int[] scatterCol = new int[0];
+    private SplittableRandom[] random = new SplittableRandom[0];
+    private float maxSpeed = 0;
+
+    private int animationFrame = 0;
+
+    public GhostStore(Board board, Pathfinder pathfinder, GameClock clock) {
+        this.board = board;
+        this.clock = clock;
+        this.pathfinders = new Pathfinder[] {pathfinder};
+        this.grid = new GhostGrid(board.getWidth(), board.getHeight());
+    }
+
+    public int add(GhostStrategy ghostStrategy, SplittableRandom ghostRandom, int startRow, int startCol) {
+        if (count == row.length) grow(Math.max(4, count * 2));
+
+        int ghost = count++;
+        int strategyIndex = strategyIndex(ghostStrategy);
+        int scatterCell = strategyScatterCells[strategyIndex];
+
+        row[ghost] = startRow;
+        col[ghost] = startCol;
+        cell[ghost] = board.cellId(startRow, startCol);
+        homeRow[ghost] = startRow;
+        homeCol[ghost] = startCol;
+        scatterRow[ghost] = scatterCell / board.getWidth();
+        scatterCol[ghost] = scatterCell % board.getWidth();
+        pixelX[ghost] = getCellCenterX(startCol);
+        pixelY[ghost] = getCellCenterY(startRow);
+        previousPixelX[ghost] = pixelX[ghost];
+        previousPixelY[ghost] = pixelY[ghost];
+        direction[ghost] = RIGHT;
+        nextDirection[ghost] = RIGHT;
+        state[ghost] = IN_HOME;
+        stateChangeTime[ghost] = clock.currentTimeMillis() + SCATTER_DURATION;
+        speed[ghost] = BASE_GHOST_SPEED * ghostStrategy.getSpeedFactor();
+        strategy[ghost] = (byte) strategyIndex;
+        random[ghost] = ghostRandom;
+        maxSpeed = Math.max(maxSpeed, speed[ghost]);
+        grid.move(ghost, startRow, startCol);
+
+        int chunk = ghost / CHUNK_SIZE;
+        if (chunk == pathfinders.length) pathfinders = Arrays.copyOf(pathfinders, chunk + 1);
+        return ghost;
+    }
+
+    private int strategyIndex(GhostStrategy ghostStrategy) {
+        for (int i = 0; i < strategies.length; i++) {
+            if (strategies[i] == ghostStrategy) return i;
+        }
+
+        int index = strategies.length;
+        strategies = Arrays.copyOf(strategies, index + 1);
+        strategyScatterCells = Arrays.copyOf(strategyScatterCells, index + 1);
+        strategies[index] = ghostStrategy;
+
+        // Scatter corners sit inside the outer wall, so aim for the nearest cell a ghost can reach
+        int cornerRow = ghostStrategy.getScatterRow(board);
+        int cornerCol = ghostStrategy.getScatterCol(board);
+        int cell = pathfinders[0].nearestWalkableCell(cornerRow, cornerCol);
+        strategyScatterCells[index] = cell >= 0 ? cell : cornerRow * board.getWidth() + cornerCol;
+        return index;
+    }
+
+    private void grow(int capacity) {
+        row = Arrays.copyOf(row, capacity);
+        col = Arrays.copyOf(col, capacity);
+        cell = Arrays.copyOf(cell, capacity);
+        pixelX = Arrays.copyOf(pixelX, capacity);
+        pixelY = Arrays.copyOf(pixelY, capacity);
+        previousPixelX = Arrays.copyOf(previousPixelX, capacity);
+        previousPixelY = Arrays.copyOf(previousPixelY, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        nextDirection = Arrays.copyOf(nextDirection, capacity);
+        state = Arrays.copyOf(state, capacity);
+        stateChangeTime = Arrays.copyOf(stateChangeTime, capacity);
+        lastDecisionTime = Arrays.copyOf(lastDecisionTime, capacity);
+        targetRow = Arrays.copyOf(targetRow, capacity);
+        targetCol = Arrays.copyOf(targetCol, capacity);
+        lastTargetUpdateTime = Arrays.copyOf(lastTargetUpdateTime, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        strategy = Arrays.copyOf(strategy, capacity);
+        homeRow = Arrays.copyOf(homeRow, capacity);
+        homeCol = Arrays.copyOf(homeCol, capacity);
+        scatterRow = Arrays.copyOf(scatterRow, capacity);
+        scatterCol = Arrays.copyOf(scatterCol, capacity);
+        random = Arrays.copyOf(random, capacity);
+        grid.ensureCapacity(capacity);
+    }
+
+    public void update(long currentTime, float deltaTime, FlowField playerField) {
+        if (count < PARALLEL_THRESHOLD) {
+            updateRange(0, count, currentTime, deltaTime, playerField);
+        } else {
+            int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            if (updateTask == null || updateTask.toChunk != chunks) updateTask = new UpdateTask(0, chunks);
+
+            tickTime = currentTime;
+            tickDeltaTime = deltaTime;
+            tickField = playerField;
+            updateTask.reset();
+            ForkJoinPool.commonPool().invoke(updateTask);
+            tickField = null;
+        }
+
+        for (int ghost = 0; ghost < count; ghost++) {
+            grid.move(ghost, row[ghost], col[ghost]);
+        }
+    }
+
+    private void updateRange(int from, int to, long currentTime, float deltaTime, FlowField playerField) {
+        for (int ghost = from; ghost < to; ghost++) {
+            updateGhost(ghost, currentTime, deltaTime, playerField);
+        }
+    }
+
+    private void updateGhost(int ghost, long currentTime, float deltaTime, FlowField playerField) {
+        previousPixelX[ghost] = pixelX[ghost];
+        previousPixelY[ghost] = pixelY[ghost];
+
+        checkStateTransition(ghost, currentTime);
+
+        switch (STATES[state[ghost]]) {
+            case IN_HOME -> moveInHome(ghost, deltaTime);
+            case LEAVING_HOME -> leavingHome(ghost, deltaTime);
+            case CHASE -> strategies[strategy[ghost]].chase(this, ghost, currentTime, deltaTime, playerField);
+            case SCATTER -> moveToScatterPosition(ghost, deltaTime);
+            case FRIGHTENED -> moveFrightened(ghost, deltaTime);
+        }
+
+        ensureGridAlignment(ghost);
+    }
+
+    private float getCellCenterX(int col) {
+        return col * GameSettings.CELL_SIZE;
+    }
+
+    private float getCellCenterY(int row) {
+        return row * GameSettings.CELL_SIZE;
+    }
+
+    private void ensureGridAlignment(int ghost) {
+        float centerX = getCellCenterX(col[ghost]);
+        float centerY = getCellCenterY(row[ghost]);
+        int dir = direction[ghost];
+
+        if ((dir == LEFT || dir == RIGHT) && Math.abs(pixelY[ghost] - centerY) < ALIGNMENT_TOLERANCE / 2) {
+            pixelY[ghost] = centerY;
+        }
+
+        if ((dir == UP || dir == DOWN) && Math.abs(pixelX[ghost] - centerX) < ALIGNMENT_TOLERANCE / 2) {
+            pixelX[ghost] = centerX;
+        }
+    }
+
+    private void checkStateTransition(int ghost, long currentTime) {
+        if (state[ghost] == SCATTER && currentTime > stateChangeTime[ghost]) {
+            state[ghost] = CHASE;
+            reverseDirection(ghost);
+        }
+
+        if (state[ghost] == IN_HOME && strategies[strategy[ghost]].shouldLeaveHome(this, ghost, currentTime)) {
+            state[ghost] = LEAVING_HOME;
+        }
+    }
+
+    private void reverseDirection(int ghost) {
+        direction[ghost] = oppositeDirection(direction[ghost]);
+        nextDirection[ghost] = direction[ghost];
+    }
+
+    private void moveInHome(int ghost, float deltaTime) {
+        float moveDistance = speed[ghost] * 0.5f * deltaTime;
+        float centerY = getCellCenterY(homeRow[ghost]);
+
+        if (direction[ghost] == UP) {
+            pixelY[ghost] -= moveDistance;
+            if (pixelY[ghost] < centerY - GameSettings.CELL_SIZE * 0.5f) direction[ghost] = DOWN;
+        } else {
+            pixelY[ghost] += moveDistance;
+            if (pixelY[ghost] > centerY + GameSettings.CELL_SIZE * 0.5f) direction[ghost] = UP;
+        }
+    }
+
+    private void leavingHome(int ghost, float deltaTime) {
+        float moveDistance = speed[ghost] * 0.7f * deltaTime;
+        int exitRow = getExitRow(ghost), exitCol = getExitCol(ghost);
+        float targetX = getCellCenterX(exitCol);
+        float targetY = getCellCenterY(exitRow);
+
+        if (Math.abs(pixelY[ghost] - targetY) > ALIGNMENT_TOLERANCE) {
+            direction[ghost] = (pixelY[ghost] > targetY) ? UP : DOWN;
+            pixelY[ghost] += (direction[ghost] == UP ? -moveDistance : moveDistance);
+
+            if (Math.abs(pixelX[ghost] - targetX) < ALIGNMENT_TOLERANCE * 2) {
+                pixelX[ghost] = targetX;
+            }
+        } else if (Math.abs(pixelX[ghost] - targetX) > ALIGNMENT_TOLERANCE) {
+            pixelY[ghost] = targetY;
+            direction[ghost] = (pixelX[ghost] > targetX) ? LEFT : RIGHT;
+            pixelX[ghost] += (direction[ghost] == LEFT ? -moveDistance : moveDistance);
+        } else {
+            pixelX[ghost] = targetX;
+            pixelY[ghost] = targetY;
+            row[ghost] = exitRow;
+            col[ghost] = exitCol;
+            cell[ghost] = board.cellId(exitRow, exitCol);
+
+            direction[ghost] = UP;
+            nextDirection[ghost] = UP;
+            state[ghost] = CHASE;
+        }
+    }
+
+    private int getExitRow(int ghost) {
+        return homeRow[ghost] - 2;
+    }
+
+    private int getExitCol(int ghost) {
+        return homeCol[ghost];
+    }
+
+    private void moveToScatterPosition(int ghost, float deltaTime) {
+        decideNextDirection(ghost, scatterRow[ghost], scatterCol[ghost]);
+        moveInDirection(ghost, deltaTime);
+    }
+
+    private void moveFrightened(int ghost, float deltaTime) {
+        if (isAtIntersection(ghost)) {
+            int options = getAvailableDirections(ghost);
+            if (options != 0) nextDirection[ghost] = randomDirection(ghost, options);
+        }
+        moveInDirection(ghost, deltaTime);
+    }
+
+    public void decideNextDirection(int ghost, int targetRow, int targetCol) {
+        if (!board.getDistanceTable().isAvailable() && isAtIntersection(ghost)) {
+            int dir = getPathfinder(ghost).nextDirection(row[ghost], col[ghost], targetRow, targetCol);
+            if (dir != Pathfinder.NO_PATH && dir != oppositeDirection(direction[ghost])) {
+                nextDirection[ghost] = dir;
+                return;
+            }
+        }
+        chooseDirection(ghost, null, targetRow, targetCol);
+    }
+
+    // Only the chunk's own ghosts use its pathfinder, so no locking
+    private Pathfinder getPathfinder(int ghost) {
+        int chunk = ghost / CHUNK_SIZE;
+        if (pathfinders[chunk] == null) pathfinders[chunk] = new Pathfinder(board);
+        return pathfinders[chunk];
+    }
+
+    public void followField(int ghost, FlowField field) {
+        chaseTarget(ghost, field, field.getTargetRow(), field.getTargetCol());
+    }
+
+    /** Chases where the field's target was when last sampled, resampling every delay ms */
+    public void followField(int ghost, FlowField field, long currentTime, long delay) {
+        if (currentTime - lastTargetUpdateTime[ghost] > delay) {
+            targetRow[ghost] = field.getTargetRow();
+            targetCol[ghost] = field.getTargetCol();
+            lastTargetUpdateTime[ghost] = currentTime;
+        }
+        chaseTarget(ghost, field, targetRow[ghost], targetCol[ghost]);
+    }
+
+    private void chaseTarget(int ghost, FlowField field, int targetRow, int targetCol) {
+        if (!board.getDistanceTable().isAvailable()) {
+            decideNextDirection(ghost, targetRow, targetCol);
+            return;
+        }
+
+        boolean fieldTarget = targetRow == field.getTargetRow() && targetCol == field.getTargetCol();
+        chooseDirection(ghost, fieldTarget ? field : null, targetRow, targetCol);
+    }
+
+    private void chooseDirection(int ghost, FlowField field, int targetRow, int targetCol) {
+        int current = direction[ghost];
+
+        if (isAtIntersection(ghost) || !canMove(ghost, current)) {
+            int available = getAvailableDirections(ghost);
+
+            if (Integer.bitCount(available) == 1) {
+                nextDirection[ghost] = Integer.numberOfTrailingZeros(available);
+                return;
+            }
+
+            int bestDirection = current;
+            double closestDistance = Double.MAX_VALUE;
+
+            for (int dir = RIGHT; dir <= UP; dir++) {
+                if ((available & (1 << dir)) == 0 || dir == oppositeDirection(current)) continue;
+
+                int tempRow = row[ghost], tempCol = col[ghost];
+                switch (dir) {
+                    case RIGHT -> tempCol++;
+                    case LEFT -> tempCol--;
+                    case UP -> tempRow--;
+                    case DOWN -> tempRow++;
+                }
+
+                double dist = field != null
+                        ? fieldDistance(field, tempRow, tempCol)
+                        : distanceTo(tempRow, tempCol, targetRow, targetCol);
+                if (dist < closestDistance) {
+                    closestDistance = dist;
+                    bestDirection = dir;
+                }
+            }
+
+            nextDirection[ghost] = bestDirection;
+        } else {
+            nextDirection[ghost] = current;
+        }
+    }
+
+    public void moveInDirection(int ghost, float deltaTime) {
+        float moveDistance = speed[ghost] * deltaTime;
+        float centerX = getCellCenterX(col[ghost]);
+        float centerY = getCellCenterY(row[ghost]);
+
+        boolean alignedX = Math.abs(pixelX[ghost] - centerX) < ALIGNMENT_TOLERANCE;
+        boolean alignedY = Math.abs(pixelY[ghost] - centerY) < ALIGNMENT_TOLERANCE;
+
+        int next = nextDirection[ghost];
+        if (alignedX && alignedY && next != direction[ghost]) {
+            if (canMove(ghost, next) || next == oppositeDirection(direction[ghost])) {
+                pixelX[ghost] = centerX;
+                pixelY[ghost] = centerY;
+                direction[ghost] = next;
+            }
+        }
+
+        if (!canMove(ghost, direction[ghost])) {
+            int options = getAvailableDirections(ghost);
+            if (options != 0) {
+                nextDirection[ghost] = randomDirection(ghost, options);
+                direction[ghost] = nextDirection[ghost];
+
+                if (direction[ghost] == UP || direction[ghost] == DOWN) pixelX[ghost] = centerX;
+                else pixelY[ghost] = centerY;
+            }
+            return;
+        }
+
+        float prevX = pixelX[ghost], prevY = pixelY[ghost];
+        switch (direction[ghost]) {
+            case RIGHT -> pixelX[ghost] += moveDistance;
+            case LEFT -> pixelX[ghost] -= moveDistance;
+            case UP -> pixelY[ghost] -= moveDistance;
+            case DOWN -> pixelY[ghost] += moveDistance;
+        }
+
+        int newRow = Math.round(pixelY[ghost] / GameSettings.CELL_SIZE);
+        int newCol = Math.round(pixelX[ghost] / GameSettings.CELL_SIZE);
+
+        if (newRow != row[ghost] || newCol != col[ghost]) {
+            if (canMove(ghost, direction[ghost])) {
+                row[ghost] = newRow;
+                col[ghost] = newCol;
+                cell[ghost] = board.cellId(newRow, newCol);
+            } else {
+                pixelX[ghost] = prevX;
+                pixelY[ghost] = prevY;
+            }
+        }
+    }
+
+    private double fieldDistance(FlowField field, int row, int col) {
+        int distance = field.getDistance(row, col);
+        return distance == DistanceTable.UNREACHABLE ? Integer.MAX_VALUE : distance;
+    }
+
+    private double distanceTo(int fromRow, int fromCol, int targetRow, int targetCol) {
+        int mazeDistance = board.getDistance(fromRow, fromCol, targetRow, targetCol);
+        if (mazeDistance != DistanceTable.UNREACHABLE) return mazeDistance;
+
+        // Targets inside walls fall back to straight-line distance
+        int dRow = fromRow - targetRow;
+        int dCol = fromCol - targetCol;
+        return dRow * dRow + dCol * dCol;
+    }
+
+    public boolean canMove(int ghost, int dir) {
+        if (state[ghost] == IN_HOME) {
+            return switch (dir) {
+                case UP -> pixelY[ghost] > (homeRow[ghost] - 0.5f) * GameSettings.CELL_SIZE;
+                case DOWN -> pixelY[ghost] < (homeRow[ghost] + 0.5f) * GameSettings.CELL_SIZE;
+                default -> false;
+            };
+        }
+
+        if (state[ghost] == LEAVING_HOME) {
+            return (dir == UP && row[ghost] >= getExitRow(ghost))
+                    || (dir == LEFT && col[ghost] > getExitCol(ghost))
+                    || (dir == RIGHT && col[ghost] < getExitCol(ghost));
+        }
+
+        return (board.getExitsAt(cell[ghost]) & (1 << dir)) != 0;
+    }
+
+    public boolean isAtIntersection(int ghost) {
+        return Math.abs(pixelX[ghost] - getCellCenterX(col[ghost])) < ALIGNMENT_TOLERANCE &&
+                Math.abs(pixelY[ghost] - getCellCenterY(row[ghost])) < ALIGNMENT_TOLERANCE &&
+                Integer.bitCount(getAvailableDirections(ghost)) > 2;
+    }
+
+    public int getAvailableDirections(int ghost) {
+        if (state[ghost] != IN_HOME && state[ghost] != LEAVING_HOME) {
+            return board.getExitsAt(cell[ghost]);
+        }
+
+        int directions = 0;
+        for (int dir = RIGHT; dir <= UP; dir++) {
+            if (canMove(ghost, dir)) directions |= 1 << dir;
+        }
+        return directions;
+    }
+
+    public int randomDirection(int ghost, int directions) {
+        int skip = random[ghost].nextInt(Integer.bitCount(directions));
+        for (int i = 0; i < skip; i++) {
+            directions &= directions - 1;
+        }
+        return Integer.numberOfTrailingZeros(directions);
+    }
+
+    public static int oppositeDirection(int direction) {
+        return (direction + 2) & 3;
+    }
+
+    public void frightenAll() {
+        for (int ghost = 0; ghost < count; ghost++) {
+            if (state[ghost] != IN_HOME && state[ghost] != LEAVING_HOME) {
+                state[ghost] = FRIGHTENED;
+                reverseDirection(ghost);
+            }
+        }
+    }
+
+    public void reset(int ghost) {
+        row[ghost] = homeRow[ghost];
+        col[ghost] = homeCol[ghost];
+        cell[ghost] = board.cellId(homeRow[ghost], homeCol[ghost]);
+        pixelX[ghost] = getCellCenterX(col[ghost]);
+        pixelY[ghost] = getCellCenterY(row[ghost]);
+        previousPixelX[ghost] = pixelX[ghost];
+        previousPixelY[ghost] = pixelY[ghost];
+        direction[ghost] = RIGHT;
+        nextDirection[ghost] = RIGHT;
+        state[ghost] = IN_HOME;
+        stateChangeTime[ghost] = clock.currentTimeMillis() + 3000;
+        grid.move(ghost, row[ghost], col[ghost]);
+    }
+
+    public void resetAll() {
+        for (int ghost = 0; ghost < count; ghost++) {
+            reset(ghost);
+        }
+    }
+
+    /** Writes the ghosts within radius cells into out, which needs room for getCount() entries */
+    public int findGhostsNear(int centerRow, int centerCol, int radius, int[] out) {
+        int found = 0;
+        for (int r = centerRow - radius; r <= centerRow + radius; r++) {
+            for (int c = centerCol - radius; c <= centerCol + radius; c++) {
+                for (int ghost = grid.first(r, c); ghost != GhostGrid.NONE; ghost = grid.next(ghost)) {
+                    out[found++] = ghost;
+                }
+            }
+        }
+        Arrays.sort(out, 0, found);
+        return found;
+    }
+
+    // Checks the whole tick's movement, so a ghost and Pac-Man passing through each other still collide
+    public boolean sweptContact(int ghost, float fromX, float fromY, float toX, float toY, float distance) {
+        float startX = fromX - previousPixelX[ghost];
+        float startY = fromY - previousPixelY[ghost];
+        float moveX = (toX - fromX) - (pixelX[ghost] - previousPixelX[ghost]);
+        float moveY = (toY - fromY) - (pixelY[ghost] - previousPixelY[ghost]);
+
+        float lengthSquared = moveX * moveX + moveY * moveY;
+        float t = lengthSquared > 0 ? -(startX * moveX + startY * moveY) / lengthSquared : 0;
+        t = Math.max(0, Math.min(1, t));
+
+        float closestX = startX + moveX * t;
+        float closestY = startY + moveY * t;
+        return closestX * closestX + closestY * closestY < distance * distance;
+    }
+
+    public void setAnimationFrame(int frame) {
+        if (frame >= 0 && frame < 2) animationFrame = frame;
+    }
+
+    public void setNextDirection(int ghost, int dir) {
+        nextDirection[ghost] = dir;
+    }
+
+    public void setLastDecisionTime(int ghost, long time) {
+        lastDecisionTime[ghost] = time;
+    }
+
+    public int getCount() { return count; }
+    public float getMaxSpeed() { return maxSpeed; }
+    public int getRow(int ghost) { return row[ghost]; }
+    public int getCol(int ghost) { return col[ghost]; }
+    public int getDirection(int ghost) { return direction[ghost]; }
+    public int getAnimationFrame() { return animationFrame; }
+    public String getGhostName(int ghost) { return strategies[strategy[ghost]].getName(); }
+    public GhostState getState(int ghost) { return STATES[state[ghost]]; }
+    public long getStateChangeTime(int ghost) { return stateChangeTime[ghost]; }
+    public long getLastDecisionTime(int ghost) { return lastDecisionTime[ghost]; }
+    public float getPixelX(int ghost) { return pixelX[ghost]; }
+    public float getPixelY(int ghost) { return pixelY[ghost]; }
+    public float getRenderX(int ghost, float interpolation) { return previousPixelX[ghost] + (pixelX[ghost] - previousPixelX[ghost]) * interpolation; }
+    public float getRenderY(int ghost, float interpolation) { return previousPixelY[ghost] + (pixelY[ghost] - previousPixelY[ghost]) * interpolation; }
+
+    @SuppressWarnings("serial")
+    private class UpdateTask extends RecursiveAction {
+        private final int fromChunk;
+        private final int toChunk;
+        private final UpdateTask first;
+        private final UpdateTask second;
+
+        private UpdateTask(int fromChunk, int toChunk) {
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+
+            if (toChunk - fromChunk > 1) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                first = new UpdateTask(fromChunk, middle);
+                second = new UpdateTask(middle, toChunk);
+            } else {
+                first = null;
+                second = null;
+            }
+        }
+
+        private void reset() {
+            reinitialize();
+            if (first != null) {
+                first.reset();
+                second.reset();
+            }
+        }
+
+        @Override
+        protected void compute() {
+            if (first == null) {
+                updateRange(fromChunk * CHUNK_SIZE, Math.min(count, toChunk * CHUNK_SIZE),
+                        tickTime, tickDeltaTime, tickField);
+                return;
+            }
+
+            invokeAll(first, second);
+        }
+    }
+}
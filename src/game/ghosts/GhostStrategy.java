@@ -0,0 +1,22 @@
+package game.ghosts;
+
+import board.Board;
+import board.FlowField;
+
+/**
+ * How one kind of ghost behaves, shared by every ghost of that kind.
+ */
+public interface GhostStrategy {
+    String getName();
+
+    // Relative to the base ghost speed
+    float getSpeedFactor();
+
+    int getScatterRow(Board board);
+
+    int getScatterCol(Board board);
+
+    boolean shouldLeaveHome(GhostStore ghosts, int ghost, long currentTime);
+
+    void chase(GhostStore ghosts, int ghost, long currentTime, float deltaTime, FlowField playerField);
+}
@@ -1,39 +1,40 @@
 package game.ghosts;
 
 import board.Board;
-import java.awt.Color;
+import board.FlowField;
 
-public class Inky extends Ghost {
-
-    private int lastPlayerRow = 0;
-    private int lastPlayerCol = 0;
-    private long lastPlayerPositionUpdateTime = 0;
+public class Inky implements GhostStrategy {
 
     private static final long PLAYER_POSITION_UPDATE_DELAY = 500;
 
-    public Inky(Board board, int startRow, int startCol) {
-        super(board, startRow, startCol, "inky", new Color(0, 255, 255), 
-              board.getHeight() - 1, 0);
+    @Override
+    public String getName() {
+        return "inky";
+    }
 
-        speed = BASE_GHOST_SPEED * 0.7f;
+    @Override
+    public float getSpeedFactor() {
+        return 0.7f;
     }
-    
+
     @Override
-    protected void chase(float deltaTime, int playerRow, int playerCol) {
-        long currentTime = System.currentTimeMillis();
+    public int getScatterRow(Board board) {
+        return board.getHeight() - 1;
+    }
 
-        if (currentTime - lastPlayerPositionUpdateTime > PLAYER_POSITION_UPDATE_DELAY) {
-            lastPlayerRow = playerRow;
-            lastPlayerCol = playerCol;
-            lastPlayerPositionUpdateTime = currentTime;
-        }
+    @Override
+    public int getScatterCol(Board board) {
+        return 0;
+    }
 
-        decideNextDirection(lastPlayerRow, lastPlayerCol);
-        moveInDirection(deltaTime);
+    @Override
+    public void chase(GhostStore ghosts, int ghost, long currentTime, float deltaTime, FlowField playerField) {
+        ghosts.followField(ghost, playerField, currentTime, PLAYER_POSITION_UPDATE_DELAY);
+        ghosts.moveInDirection(ghost, deltaTime);
     }
-    
+
     @Override
-    protected boolean shouldLeaveHome(long currentTime) {
-        return (currentTime - stateChangeTime) > 15000;
+    public boolean shouldLeaveHome(GhostStore ghosts, int ghost, long currentTime) {
+        return (currentTime - ghosts.getStateChangeTime(ghost)) > 15000;
     }
 }
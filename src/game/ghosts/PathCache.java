@@ -0,0 +1,157 @@
+package game.ghosts;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size LRU map from a (source, target) cell pair to a position inside a found path.
+ */
+final class PathCache {
+    private static final int EMPTY = -1;
+
+    private final long[] keys;
+    private final int[][] cells;
+    private final int[][] directions;
+    private final int[] offsets;
+    private final int[] newer;
+    private final int[] older;
+    private final int[] index;
+    private final int mask;
+
+    private int newest = EMPTY;
+    private int oldest = EMPTY;
+    private int size = 0;
+
+    PathCache(int capacity) {
+        keys = new long[capacity];
+        cells = new int[capacity][];
+        directions = new int[capacity][];
+        offsets = new int[capacity];
+        newer = new int[capacity];
+        older = new int[capacity];
+
+        int indexSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) * 2;
+        index = new int[indexSize];
+        mask = indexSize - 1;
+        Arrays.fill(index, EMPTY);
+    }
+
+    static long key(int sourceCell, int targetCell) {
+        return ((long) sourceCell << 32) | (targetCell & 0xFFFFFFFFL);
+    }
+
+    // Marks the entry most recently used; -1 if there is none
+    int get(long key) {
+        int position = find(key);
+        if (position < 0) return EMPTY;
+
+        int entry = index[position];
+        touch(entry);
+        return entry;
+    }
+
+    int getDirection(int entry) {
+        return directions[entry][offsets[entry]];
+    }
+
+    void put(long key, int[] pathCells, int[] pathDirections, int offset) {
+        int position = find(key);
+        int entry;
+
+        if (position >= 0) {
+            entry = index[position];
+            touch(entry);
+        } else {
+            if (size == keys.length) {
+                entry = oldest;
+                unlink(entry);
+                remove(find(keys[entry]));
+            } else {
+                entry = size++;
+            }
+            // Evicting may have shifted the probe run, so look the free slot up again
+            index[freeSlot(key)] = entry;
+            keys[entry] = key;
+            linkNewest(entry);
+        }
+
+        cells[entry] = pathCells;
+        directions[entry] = pathDirections;
+        offsets[entry] = offset;
+    }
+
+    void clear() {
+        Arrays.fill(index, EMPTY);
+        Arrays.fill(cells, null);
+        Arrays.fill(directions, null);
+        newest = EMPTY;
+        oldest = EMPTY;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32);
+    }
+
+    private int find(long key) {
+        int slot = hash(key) & mask;
+        while (index[slot] != EMPTY) {
+            if (keys[index[slot]] == key) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    private int freeSlot(long key) {
+        int slot = hash(key) & mask;
+        while (index[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Shifts later entries of the probe run back into the gap
+    private void remove(int slot) {
+        index[slot] = EMPTY;
+        int next = slot;
+
+        while (true) {
+            next = (next + 1) & mask;
+            if (index[next] == EMPTY) return;
+
+            int home = hash(keys[index[next]]) & mask;
+            boolean reachable = slot <= next ? (slot < home && home <= next) : (slot < home || home <= next);
+            if (reachable) continue;
+
+            index[slot] = index[next];
+            index[next] = EMPTY;
+            slot = next;
+        }
+    }
+
+    private void touch(int entry) {
+        if (entry == newest) return;
+        unlink(entry);
+        linkNewest(entry);
+    }
+
+    private void unlink(int entry) {
+        if (newer[entry] != EMPTY) older[newer[entry]] = older[entry];
+        else newest = older[entry];
+
+        if (older[entry] != EMPTY) newer[older[entry]] = newer[entry];
+        else oldest = newer[entry];
+    }
+
+    private void linkNewest(int entry) {
+        newer[entry] = EMPTY;
+        older[entry] = newest;
+        if (newest != EMPTY) newer[newest] = entry;
+        newest = entry;
+        if (oldest == EMPTY) oldest = entry;
+    }
+}
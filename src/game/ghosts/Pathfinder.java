@@ -0,0 +1,330 @@
+package game.ghosts;
+
+import board.Board;
+import board.DistanceTable;
+import board.JunctionGraph;
+
+import java.util.Arrays;
+
+/**
+ * Shortest paths for boards too large for a DistanceTable, by A* or jump-point search.
+ */
+public class Pathfinder {
+    public static final int NO_PATH = -1;
+
+    public enum Mode { GRID, JUMP }
+
+    private static final int DEFAULT_CACHE_SIZE = 1024;
+    private static final int CACHED_JUNCTIONS_PER_PATH = 8;
+    private static final int[] ROW_STEP = {0, 1, 0, -1};
+    private static final int[] COL_STEP = {1, 0, -1, 0};
+
+    private final Board board;
+    private final JunctionGraph graph;
+    private final Mode mode;
+    private final int width;
+    private final int height;
+
+    private int[] cost;
+    private int[] via;
+    private int[] stamp;
+    private int[] closed;
+    private int generation = 0;
+
+    private final int[] nodeCost;
+    private final int[] nodeParent;
+    private final int[] nodeVia;
+    private final int[] nodeStamp;
+    private final int[] nodeClosed;
+
+    private long[] heap = new long[64];
+    private int heapSize;
+
+    private int[] pathCells;
+    private int[] pathDirections;
+
+    private final PathCache cache;
+
+    private long searches = 0;
+    private long cacheHits = 0;
+
+    public Pathfinder(Board board) {
+        this(board, Mode.JUMP, DEFAULT_CACHE_SIZE);
+    }
+
+    public Pathfinder(Board board, Mode mode, int cacheSize) {
+        this.board = board;
+        this.graph = board.getJunctionGraph();
+        this.mode = mode;
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+
+        int nodes = graph.getNodeCount();
+        nodeCost = new int[nodes];
+        nodeParent = new int[nodes];
+        nodeVia = new int[nodes];
+        nodeStamp = new int[nodes];
+        nodeClosed = new int[nodes];
+
+        // A junction path leaves each node at most once, plus the step onto the target's corridor
+        pathCells = new int[nodes + 1];
+        pathDirections = new int[nodes + 1];
+        if (mode == Mode.GRID) ensureGridArrays();
+
+        cache = new PathCache(cacheSize);
+    }
+
+    public int nextDirection(int fromRow, int fromCol, int toRow, int toCol) {
+        if (!board.isWalkable(fromRow, fromCol) || !board.isWalkable(toRow, toCol)) return NO_PATH;
+
+        int source = fromRow * width + fromCol;
+        int target = toRow * width + toCol;
+        if (source == target) return NO_PATH;
+
+        long key = PathCache.key(source, target);
+        int entry = cache.get(key);
+        if (entry >= 0) {
+            cacheHits++;
+            return cache.getDirection(entry);
+        }
+
+        searches++;
+        int length = mode == Mode.JUMP && graph.getNode(source) != JunctionGraph.NONE
+                ? searchJunctions(source, target)
+                : searchGrid(source, target);
+        if (length == 0) return NO_PATH;
+
+        storePath(length, target);
+        return pathDirections[0];
+    }
+
+    /** Returns the closest walkable cell as row * width + col, or -1 if there is none */
+    public int nearestWalkableCell(int row, int col) {
+        int best = -1;
+        long bestDistance = Long.MAX_VALUE;
+
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                if (!board.isWalkable(r, c)) continue;
+
+                long dRow = r - row, dCol = c - col;
+                long distance = dRow * dRow + dCol * dCol;
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = r * width + c;
+                }
+            }
+        }
+        return best;
+    }
+
+    private int heuristic(int cell, int target) {
+        return Math.abs(cell / width - target / width) + Math.abs(cell % width - target % width);
+    }
+
+    private void ensureGridArrays() {
+        if (cost != null) return;
+
+        int cells = width * height;
+        cost = new int[cells];
+        via = new int[cells];
+        stamp = new int[cells];
+        closed = new int[cells];
+        pathCells = new int[cells];
+        pathDirections = new int[cells];
+    }
+
+    private void nextGeneration() {
+        if (++generation == Integer.MAX_VALUE) {
+            if (stamp != null) {
+                Arrays.fill(stamp, 0);
+                Arrays.fill(closed, 0);
+            }
+            Arrays.fill(nodeStamp, 0);
+            Arrays.fill(nodeClosed, 0);
+            generation = 1;
+        }
+        heapSize = 0;
+    }
+
+    // Both searches leave the path in pathCells/pathDirections and return its length, 0 if unreachable
+    private int searchGrid(int source, int target) {
+        ensureGridArrays();
+        nextGeneration();
+        stamp[source] = generation;
+        cost[source] = 0;
+        via[source] = -1;
+        push(((long) heuristic(source, target) << 32) | source);
+
+        while (heapSize > 0) {
+            int cell = (int) poll();
+            if (closed[cell] == generation) continue;
+            closed[cell] = generation;
+
+            if (cell == target) break;
+
+            int exits = board.getExits(cell / width, cell % width);
+            int nextCost = cost[cell] + 1;
+
+            for (int dir = 0; dir < 4; dir++) {
+                if ((exits & (1 << dir)) == 0) continue;
+
+                int next = cell + ROW_STEP[dir] * width + COL_STEP[dir];
+                if (stamp[next] == generation && cost[next] <= nextCost) continue;
+
+                stamp[next] = generation;
+                cost[next] = nextCost;
+                via[next] = dir;
+                push(((long) (nextCost + heuristic(next, target)) << 32) | next);
+            }
+        }
+
+        if (closed[target] != generation) return 0;
+
+        int length = cost[target];
+        int cell = target;
+        for (int step = length - 1; step >= 0; step--) {
+            int dir = via[cell];
+            cell -= ROW_STEP[dir] * width + COL_STEP[dir];
+            pathCells[step] = cell;
+            pathDirections[step] = dir;
+        }
+        return length;
+    }
+
+    private int searchJunctions(int source, int target) {
+        nextGeneration();
+
+        int targetNode = graph.getNode(target);
+        int targetEdge = graph.getEdge(target);
+        int targetOffset = graph.getOffset(target);
+
+        int start = graph.getNode(source);
+        nodeStamp[start] = generation;
+        nodeCost[start] = 0;
+        nodeParent[start] = -1;
+        push(((long) heuristic(source, target) << 32) | start);
+
+        int best = Integer.MAX_VALUE;
+        int goalNode = -1;
+        int goalDirection = -1;
+
+        while (heapSize > 0) {
+            long top = poll();
+            int node = (int) top;
+            if ((int) (top >>> 32) >= best) break;
+            if (nodeClosed[node] == generation) continue;
+            nodeClosed[node] = generation;
+
+            int nodeDistance = nodeCost[node];
+            if (node == targetNode) {
+                best = nodeDistance;
+                goalNode = node;
+                goalDirection = -1;
+                break;
+            }
+
+            for (int dir = 0; dir < 4; dir++) {
+                int edge = graph.getNodeEdge(node, dir);
+                if (edge == JunctionGraph.NONE) continue;
+
+                boolean leavesFrom = graph.getEdgeFrom(edge) == node && graph.getEdgeFromDirection(edge) == dir;
+                int length = graph.getEdgeLength(edge);
+
+                if (edge == targetEdge) {
+                    int distance = nodeDistance + (leavesFrom ? targetOffset : length - targetOffset);
+                    if (distance < best) {
+                        best = distance;
+                        goalNode = node;
+                        goalDirection = dir;
+                    }
+                }
+
+                int other = leavesFrom ? graph.getEdgeTo(edge) : graph.getEdgeFrom(edge);
+                int otherCost = nodeDistance + length;
+                if (nodeStamp[other] == generation && nodeCost[other] <= otherCost) continue;
+
+                nodeStamp[other] = generation;
+                nodeCost[other] = otherCost;
+                nodeParent[other] = node;
+                nodeVia[other] = dir;
+                push(((long) (otherCost + heuristic(graph.getNodeCell(other), target)) << 32) | other);
+            }
+        }
+
+        if (goalNode < 0) return 0;
+
+        int count = goalDirection >= 0 ? 1 : 0;
+        for (int node = goalNode; nodeParent[node] >= 0; node = nodeParent[node]) {
+            count++;
+        }
+
+        int index = count - 1;
+        if (goalDirection >= 0) {
+            pathCells[index] = graph.getNodeCell(goalNode);
+            pathDirections[index--] = goalDirection;
+        }
+        for (int node = goalNode; nodeParent[node] >= 0; node = nodeParent[node]) {
+            pathCells[index] = graph.getNodeCell(nodeParent[node]);
+            pathDirections[index--] = nodeVia[node];
+        }
+        return count;
+    }
+
+    // Only the first few junctions get entries; targets move, so far ones would rarely be hit
+    private void storePath(int length, int target) {
+        int[] cells = Arrays.copyOf(pathCells, length);
+        int[] directions = Arrays.copyOf(pathDirections, length);
+
+        int stored = 0;
+        for (int i = 0; i < length && stored < CACHED_JUNCTIONS_PER_PATH; i++) {
+            int cell = cells[i];
+            if (i == 0 || Integer.bitCount(board.getExits(cell / width, cell % width)) > 2) {
+                cache.put(PathCache.key(cell, target), cells, directions, i);
+                stored++;
+            }
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public long getSearchCount() {
+        return searches;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    private void push(long entry) {
+        if (heapSize == heap.length) heap = Arrays.copyOf(heap, heapSize * 2);
+
+        int index = heapSize++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= entry) break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = entry;
+    }
+
+    private long poll() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+
+        int index = 0;
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= last) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        if (heapSize > 0) heap[index] = last;
+        return top;
+    }
+}
@@ -0,0 +1,129 @@
+package game.ghosts;
+
+import board.Board;
+import board.MazeGenerator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Times greedy, pathfinder and cached ghost decisions on a maze too large for a distance table.
+ * Usage: PathfinderBenchmark [size] [queries] [seed]
+ */
+public class PathfinderBenchmark {
+    private static final int[] ROW_STEP = {0, 1, 0, -1};
+    private static final int[] COL_STEP = {1, 0, -1, 0};
+    private static final int ROUNDS = 5;
+    private static final int REPEATED_PAIRS = 64;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 151;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+        Board board = new MazeGenerator(size, size, seed).createBoard();
+        System.out.println("Maze " + board.getWidth() + "x" + board.getHeight() + ": "
+                + board.getDistanceTable() + "; junction graph " + board.getJunctionGraph());
+
+        int[] sources = new int[queries];
+        int[] targets = new int[queries];
+        pickQueries(board, new SplittableRandom(seed + 1), sources, targets);
+
+        // Ghosts keep asking about the same few targets, so the cached run cycles over a handful of pairs
+        int[] repeatedSources = new int[queries];
+        int[] repeatedTargets = new int[queries];
+        for (int i = 0; i < queries; i++) {
+            repeatedSources[i] = sources[i % REPEATED_PAIRS];
+            repeatedTargets[i] = targets[i % REPEATED_PAIRS];
+        }
+
+        Pathfinder grid = new Pathfinder(board, Pathfinder.Mode.GRID, 1);
+        Pathfinder jump = new Pathfinder(board, Pathfinder.Mode.JUMP, 1);
+        Pathfinder cached = new Pathfinder(board);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("Round %d: greedy %.0f ns, A* %.0f ns, jump %.0f ns, cached %.0f ns per decision%n",
+                    round,
+                    timeGreedy(board, sources, targets),
+                    timePathfinder(grid, board, sources, targets),
+                    timePathfinder(jump, board, sources, targets),
+                    timePathfinder(cached, board, repeatedSources, repeatedTargets));
+        }
+
+        int onShortestPath = 0;
+        for (int i = 0; i < queries; i++) {
+            int width = board.getWidth();
+            int best = jump.nextDirection(sources[i] / width, sources[i] % width, targets[i] / width, targets[i] % width);
+            if (greedyDirection(board, sources[i], targets[i]) == best) onShortestPath++;
+        }
+        System.out.printf("Greedy picked the shortest-path turn in %.1f%% of decisions; cache hits %d of %d%n",
+                100.0 * onShortestPath / queries, cached.getCacheHits(), cached.getCacheHits() + cached.getSearchCount());
+    }
+
+    private static double timeGreedy(Board board, int[] sources, int[] targets) {
+        long start = System.nanoTime();
+        int checksum = 0;
+        for (int i = 0; i < sources.length; i++) {
+            checksum += greedyDirection(board, sources[i], targets[i]);
+        }
+        return elapsedPerQuery(start, sources.length, checksum);
+    }
+
+    private static double timePathfinder(Pathfinder pathfinder, Board board, int[] sources, int[] targets) {
+        int width = board.getWidth();
+        long start = System.nanoTime();
+        int checksum = 0;
+        for (int i = 0; i < sources.length; i++) {
+            checksum += pathfinder.nextDirection(sources[i] / width, sources[i] % width,
+                    targets[i] / width, targets[i] % width);
+        }
+        return elapsedPerQuery(start, sources.length, checksum);
+    }
+
+    private static double elapsedPerQuery(long start, int queries, int checksum) {
+        long elapsed = System.nanoTime() - start;
+        // Keeps the loop result alive so the JIT cannot drop the work
+        if (checksum == Integer.MIN_VALUE) System.out.print("");
+        return (double) elapsed / queries;
+    }
+
+    // Same choice as GhostStore
+    private static int greedyDirection(Board board, int source, int target) {
+        int width = board.getWidth();
+        int row = source / width, col = source % width;
+        int targetRow = target / width, targetCol = target % width;
+        int exits = board.getExits(row, col);
+
+        int bestDirection = -1;
+        int closest = Integer.MAX_VALUE;
+        for (int dir = 0; dir < 4; dir++) {
+            if ((exits & (1 << dir)) == 0) continue;
+
+            int dRow = row + ROW_STEP[dir] - targetRow;
+            int dCol = col + COL_STEP[dir] - targetCol;
+            int distance = dRow * dRow + dCol * dCol;
+            if (distance < closest) {
+                closest = distance;
+                bestDirection = dir;
+            }
+        }
+        return bestDirection;
+    }
+
+    private static void pickQueries(Board board, SplittableRandom random, int[] sources, int[] targets) {
+        int width = board.getWidth(), height = board.getHeight();
+        for (int i = 0; i < sources.length; i++) {
+            int row, col;
+            do {
+                row = random.nextInt(height);
+                col = random.nextInt(width);
+            } while (!board.isWalkable(row, col) || Integer.bitCount(board.getExits(row, col)) < 3);
+            sources[i] = row * width + col;
+
+            do {
+                row = random.nextInt(height);
+                col = random.nextInt(width);
+            } while (!board.hasDot(row, col) || row * width + col == sources[i]);
+            targets[i] = row * width + col;
+        }
+    }
+}
@@ -1,84 +1,66 @@
 package game.ghosts;
 
 import board.Board;
-import java.awt.Color;
+import board.DistanceTable;
+import board.FlowField;
 
-public class Pinky extends Ghost {
+public class Pinky implements GhostStrategy {
 
     private static final int DETECTION_RADIUS = 6;
-
-    private int lastPlayerRow = 0;
-    private int lastPlayerCol = 0;
-    private long lastPlayerPositionUpdateTime = 0;
-    private static final long PLAYER_POSITION_UPDATE_DELAY = 400;
-
-    private long lastRandomDirectionChange = 0;
     private static final long RANDOM_DIRECTION_DELAY = 800;
 
-    public Pinky(Board board, int startRow, int startCol) {
-        super(board, startRow, startCol, "pinky", new Color(255, 192, 203), 0, 0);
+    @Override
+    public String getName() {
+        return "pinky";
+    }
 
-        speed = BASE_GHOST_SPEED * 0.95f;
+    @Override
+    public float getSpeedFactor() {
+        return 0.95f;
     }
-    
+
     @Override
-    protected void chase(float deltaTime, int playerRow, int playerCol) {
-        long currentTime = System.currentTimeMillis();
+    public int getScatterRow(Board board) {
+        return 0;
+    }
 
-        double distanceToPlayer = Math.sqrt(
-            Math.pow(row - playerRow, 2) + 
-            Math.pow(col - playerCol, 2)
-        );
+    @Override
+    public int getScatterCol(Board board) {
+        return 0;
+    }
 
-        if (currentTime - lastPlayerPositionUpdateTime > PLAYER_POSITION_UPDATE_DELAY) {
-            lastPlayerRow = playerRow;
-            lastPlayerCol = playerCol;
-            lastPlayerPositionUpdateTime = currentTime;
-        }
+    @Override
+    public void chase(GhostStore ghosts, int ghost, long currentTime, float deltaTime, FlowField playerField) {
+        int distanceToPlayer = playerField.getDistance(ghosts.getRow(ghost), ghosts.getCol(ghost));
 
-        if (distanceToPlayer <= DETECTION_RADIUS) {
-            decideNextDirection(lastPlayerRow, lastPlayerCol);
+        if (distanceToPlayer != DistanceTable.UNREACHABLE && distanceToPlayer <= DETECTION_RADIUS) {
+            ghosts.followField(ghost, playerField);
         }
         else {
-            if (isAtIntersection() || !canMove(direction)) {
-                if (currentTime - lastRandomDirectionChange > RANDOM_DIRECTION_DELAY) {
-                    int[] availableDirections = getAvailableDirections();
-                    if (availableDirections.length > 0) {
-                        int[] filteredDirections = availableDirections;
-                        if (availableDirections.length > 1) {
-                            filteredDirections = filterOppositeDirection(availableDirections);
+            int direction = ghosts.getDirection(ghost);
+            if (ghosts.isAtIntersection(ghost) || !ghosts.canMove(ghost, direction)) {
+                if (currentTime - ghosts.getLastDecisionTime(ghost) > RANDOM_DIRECTION_DELAY) {
+                    int availableDirections = ghosts.getAvailableDirections(ghost);
+                    if (availableDirections != 0) {
+                        int filteredDirections = availableDirections;
+                        if (Integer.bitCount(availableDirections) > 1) {
+                            filteredDirections &= ~(1 << GhostStore.oppositeDirection(direction));
                         }
                         
-                        if (filteredDirections.length > 0) {
-                            nextDirection = filteredDirections[random.nextInt(filteredDirections.length)];
-                            lastRandomDirectionChange = currentTime;
+                        if (filteredDirections != 0) {
+                            ghosts.setNextDirection(ghost, ghosts.randomDirection(ghost, filteredDirections));
+                            ghosts.setLastDecisionTime(ghost, currentTime);
                         }
                     }
                 }
             }
         }
         
-        moveInDirection(deltaTime);
-    }
-
-    private int[] filterOppositeDirection(int[] availableDirections) {
-        int[] result = new int[availableDirections.length];
-        int count = 0;
-        
-        for (int dir : availableDirections) {
-            if (!isOppositeDirection(dir, direction)) {
-                result[count++] = dir;
-            }
-        }
-
-        int[] filtered = new int[count];
-        System.arraycopy(result, 0, filtered, 0, count);
-        
-        return filtered;
+        ghosts.moveInDirection(ghost, deltaTime);
     }
 
     @Override
-    protected boolean shouldLeaveHome(long currentTime) {
-        return (currentTime - stateChangeTime) > 5000;
+    public boolean shouldLeaveHome(GhostStore ghosts, int ghost, long currentTime) {
+        return (currentTime - ghosts.getStateChangeTime(ghost)) > 5000;
     }
 }
@@ -1,16 +1,9 @@
 package game.pacman;
 
 import board.Board;
-import game.GamePanel;
-import game.GameWindow;
-
-import javax.swing.*;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.util.Objects;
-import javax.imageio.ImageIO;
-
+import game.GameClock;
+import game.GameListener;
+import game.GameSettings;
 
 public class Pacman {
     public static final int RIGHT = 0;
@@ -20,26 +13,25 @@ public class Pacman {
 
     private int row;
     private int col;
+    private int cell;
 
     private float pixelX;
     private float pixelY;
+    private float previousPixelX;
+    private float previousPixelY;
 
     private int direction = RIGHT;
     private int nextDirection = RIGHT;
     private int currentFrame = 0;
 
-    private BufferedImage[][] directionFrames;
-    private BufferedImage closedMouthFrame;
-    private ImageIcon[] animationIcons;
-
     private static final float PLAYER_SPEED = 160.0f;
 
     private final Board board;
-    private GamePanel gamePanel;
+    private final GameClock clock;
+    private GameListener listener = GameListener.NONE;
 
-    private static final int CELL_SIZE = GamePanel.CELL_SIZE;
+    private static final int CELL_SIZE = GameSettings.CELL_SIZE;
 
-    private long lastMoveTime;
     private long lastInputTime = 0;
     private static final long INPUT_DEBOUNCE_TIME = 100;
 
@@ -48,68 +40,25 @@ public class Pacman {
     private float speedMultiplier = 1.0f;
     private int scoreMultiplier = 1;
     private int lives = 3;
+    private int score = 0;
     private boolean ghostKillerMode = false;
 
-    public Pacman(Board board, int startRow, int startCol) {
+    public Pacman(Board board, GameClock clock, int startRow, int startCol) {
         this.board = board;
+        this.clock = clock;
         this.row = startRow;
         this.col = startCol;
+        this.cell = board.cellId(startRow, startCol);
 
         this.pixelX = col * CELL_SIZE;
         this.pixelY = row * CELL_SIZE;
-
-        this.lastMoveTime = System.currentTimeMillis();
-
-        loadAnimationFrames();
-        prepareAnimationIcons();
+        this.previousPixelX = pixelX;
+        this.previousPixelY = pixelY;
     }
 
-    private void loadAnimationFrames() {
-        try {
-            directionFrames = new BufferedImage[4][2];
-            String[] directions = {"right", "down", "left", "up"};
-
-            for (int i = 0; i < directions.length; i++) {
-                directionFrames[i][0] = loadImage("/assets/pacman/" + directions[i] + "_half.png");
-                directionFrames[i][1] = loadImage("/assets/pacman/" + directions[i] + "_full.png");
-            }
-
-            closedMouthFrame = loadImage("/assets/pacman/closed.png");
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        prepareAnimationIcons();
-    }
-
-    private BufferedImage loadImage(String path) throws IOException {
-        return ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream(path)));
-    }
-
-    private void prepareAnimationIcons() {
-        animationIcons = new ImageIcon[3];
-        updateDirectionIcons();
-    }
-
-    private void updateDirectionIcons() {
-        if (directionFrames == null || closedMouthFrame == null) return;
-
-        animationIcons[0] = scaleIcon(directionFrames[direction][0]);
-        animationIcons[1] = scaleIcon(directionFrames[direction][1]);
-        animationIcons[2] = scaleIcon(closedMouthFrame);
-    }
-
-    private ImageIcon scaleIcon(BufferedImage img) {
-        return new ImageIcon(img.getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH));
-    }
-
-    public void update(long currentTime) {
-        float deltaTime = (currentTime - lastMoveTime) / 1000.0f;
-        lastMoveTime = currentTime;
-
-        if (deltaTime > 0.1f) {
-            deltaTime = 0.1f;
-        }
+    public void update(float deltaTime) {
+        previousPixelX = pixelX;
+        previousPixelY = pixelY;
 
         float centerX = col * CELL_SIZE;
         float centerY = row * CELL_SIZE;
@@ -126,7 +75,6 @@ public class Pacman {
 
             if (isOppositeDirection) {
                 direction = nextDirection;
-                updateDirectionIcons();
             }
             else if ((isAlignedX && (nextDirection == UP || nextDirection == DOWN)) ||
                     (isAlignedY && (nextDirection == LEFT || nextDirection == RIGHT))) {
@@ -139,7 +87,6 @@ public class Pacman {
                     }
 
                     direction = nextDirection;
-                    updateDirectionIcons();
                 }
             }
         }
@@ -169,16 +116,9 @@ public class Pacman {
         }
     }
 
-    public ImageIcon getCurrentIcon() {
-        if (animationIcons != null && currentFrame >= 0 && currentFrame < animationIcons.length) {
-            return animationIcons[currentFrame];
-        }
-        return null;
-    }
-
     public void setNextDirection(int direction) {
         if (direction >= 0 && direction <= 3) {
-            long currentTime = System.currentTimeMillis();
+            long currentTime = clock.currentTimeMillis();
 
             if (direction != nextDirection && currentTime - lastInputTime > INPUT_DEBOUNCE_TIME) {
                 this.nextDirection = direction;
@@ -188,30 +128,7 @@ public class Pacman {
     }
 
     private boolean canMove(int direction) {
-        int newRow = row;
-        int newCol = col;
-
-        switch (direction) {
-            case RIGHT:
-                newCol++;
-                break;
-            case DOWN:
-                newRow++;
-                break;
-            case LEFT:
-                newCol--;
-                break;
-            case UP:
-                newRow--;
-                break;
-        }
-
-        if (newRow < 0 || newRow >= board.getHeight() || newCol < 0 || newCol >= board.getWidth()) {
-            return false;
-        }
-
-        char tile = board.getTile(newRow, newCol);
-        return tile != '|' && tile != 'X';
+        return (board.getExitsAt(cell) & (1 << direction)) != 0;
     }
 
     private void move(int direction, float deltaTime) {
@@ -242,28 +159,11 @@ public class Pacman {
             if (canMove(direction)) {
                 row = newRow;
                 col = newCol;
+                cell = board.cellId(row, col);
 
-                char currentTile = board.getTile(row, col);
-                if (currentTile == '.') {
-                    board.updateTile(row, col, ' ');
-
-                    if (gamePanel != null) {
-                        gamePanel.clearDot(row, col);
-
-                        int basePoints = 10;
-                        int points = basePoints * scoreMultiplier;
-
-                        if (gamePanel.getParent() instanceof JPanel) {
-                            Component parent = gamePanel.getParent();
-                            while (parent != null) {
-                                if (parent instanceof GameWindow) {
-                                    ((GameWindow) parent).updateScore(points);
-                                    break;
-                                }
-                                parent = parent.getParent();
-                            }
-                        }
-                    }
+                if (board.eatDot(row, col)) {
+                    addScore(10);
+                    listener.dotEaten(row, col);
                 }
             } else {
                 pixelX = oldPixelX;
@@ -289,27 +189,38 @@ public class Pacman {
 
     public int getRow() { return row; }
     public int getCol() { return col; }
+    public int getDirection() { return direction; }
+    public int getAnimationFrame() { return currentFrame; }
 
     public float getPixelX() { return pixelX; }
     public float getPixelY() { return pixelY; }
+    public float getPreviousPixelX() { return previousPixelX; }
+    public float getPreviousPixelY() { return previousPixelY; }
+
+    public float getRenderX(float interpolation) {
+        return previousPixelX + (pixelX - previousPixelX) * interpolation;
+    }
+
+    public float getRenderY(float interpolation) {
+        return previousPixelY + (pixelY - previousPixelY) * interpolation;
+    }
 
     public void reset(int startRow, int startCol) {
         this.row = startRow;
         this.col = startCol;
+        this.cell = board.cellId(startRow, startCol);
         this.pixelX = col * CELL_SIZE;
         this.pixelY = row * CELL_SIZE;
+        this.previousPixelX = pixelX;
+        this.previousPixelY = pixelY;
         this.direction = RIGHT;
         this.nextDirection = RIGHT;
 
-        long currentTime = System.currentTimeMillis();
-        this.lastMoveTime = currentTime;
-        this.lastInputTime = currentTime;
-
-        updateDirectionIcons();
+        this.lastInputTime = clock.currentTimeMillis();
     }
 
-    public void setGamePanel(GamePanel gamePanel) {
-        this.gamePanel = gamePanel;
+    public void setListener(GameListener listener) {
+        this.listener = listener;
     }
 
     public void setSpeedMultiplier(float multiplier) {
@@ -324,6 +235,14 @@ public class Pacman {
         return scoreMultiplier;
     }
 
+    public void addScore(int basePoints) {
+        score += basePoints * scoreMultiplier;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
     public void addLife() {
         if (this.lives < 3) {
             this.lives++;
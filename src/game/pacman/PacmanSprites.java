@@ -0,0 +1,34 @@
+package game.pacman;
+
+import game.AssetCache;
+import game.GamePanel;
+import game.Sprite;
+
+public class PacmanSprites {
+    private static final int CELL_SIZE = GamePanel.CELL_SIZE;
+    private static final String[] DIRECTIONS = {"right", "down", "left", "up"};
+
+    private final Sprite[][] icons = new Sprite[DIRECTIONS.length][3];
+
+    public PacmanSprites() {
+        AssetCache assets = AssetCache.getInstance();
+        try {
+            Sprite closedMouth = assets.getSprite("/assets/pacman/closed.png", CELL_SIZE);
+
+            for (int dir = 0; dir < DIRECTIONS.length; dir++) {
+                icons[dir][0] = assets.getSprite("/assets/pacman/" + DIRECTIONS[dir] + "_half.png", CELL_SIZE);
+                icons[dir][1] = assets.getSprite("/assets/pacman/" + DIRECTIONS[dir] + "_full.png", CELL_SIZE);
+                icons[dir][2] = closedMouth;
+            }
+        } catch (IllegalArgumentException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public Sprite getIcon(int direction, int frame) {
+        if (direction < 0 || direction >= icons.length || frame < 0 || frame >= icons[direction].length) {
+            return null;
+        }
+        return icons[direction][frame];
+    }
+}
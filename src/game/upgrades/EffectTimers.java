@@ -0,0 +1,74 @@
+package game.upgrades;
+
+import java.util.Arrays;
+
+/**
+ * The timed effects on Pac-Man, in a min-heap by deadline, at most one per kind.
+ */
+final class EffectTimers {
+    private Upgrade[] effects = new Upgrade[4];
+    private long[] deadlines = new long[4];
+    private int size = 0;
+
+    void start(Upgrade effect, long deadline) {
+        for (int i = 0; i < size; i++) {
+            if (effects[i].getClass() == effect.getClass()) {
+                if (deadline > deadlines[i]) {
+                    deadlines[i] = deadline;
+                    siftDown(i);
+                }
+                return;
+            }
+        }
+
+        if (size == effects.length) {
+            effects = Arrays.copyOf(effects, size * 2);
+            deadlines = Arrays.copyOf(deadlines, size * 2);
+        }
+
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (deadlines[parent] <= deadline) break;
+            effects[index] = effects[parent];
+            deadlines[index] = deadlines[parent];
+            index = parent;
+        }
+        effects[index] = effect;
+        deadlines[index] = deadline;
+    }
+
+    /** Removes and returns the earliest effect if it is due, or null */
+    Upgrade pollExpired(long now) {
+        if (size == 0 || deadlines[0] > now) return null;
+
+        Upgrade expired = effects[0];
+        size--;
+        effects[0] = effects[size];
+        deadlines[0] = deadlines[size];
+        effects[size] = null;
+        if (size > 0) siftDown(0);
+        return expired;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void siftDown(int index) {
+        Upgrade effect = effects[index];
+        long deadline = deadlines[index];
+
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= size) break;
+            if (child + 1 < size && deadlines[child + 1] < deadlines[child]) child++;
+            if (deadlines[child] >= deadline) break;
+            effects[index] = effects[child];
+            deadlines[index] = deadlines[child];
+            index = child;
+        }
+        effects[index] = effect;
+        deadlines[index] = deadline;
+    }
+}
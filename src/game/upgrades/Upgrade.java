@@ -1,12 +1,5 @@
 package game.upgrades;
 
-import javax.imageio.ImageIO;
-import javax.swing.ImageIcon;
-import java.awt.Image;
-import java.io.IOException;
-import java.util.Objects;
-
-import game.GamePanel;
 import game.pacman.Pacman;
 
 /**
@@ -24,11 +17,8 @@ public abstract class Upgrade {
     // Whether the power-up has been collected
     protected boolean collected = false;
     
-    // The image icon for this power-up
-    protected ImageIcon icon;
-    
-    // Size of the power-up icon
-    protected static final int DEFAULT_SIZE = GamePanel.CELL_SIZE - 8;
+    // Path to the power-up icon in assets
+    protected final String iconPath;
     
     /**
      * Creates a new power-up
@@ -42,14 +32,7 @@ public abstract class Upgrade {
         this.row = row;
         this.col = col;
         this.duration = duration;
-        
-        // Load the icon
-        try {
-            Image img = ImageIO.read(Objects.requireNonNull(getClass().getResourceAsStream(iconPath)));
-            this.icon = new ImageIcon(img.getScaledInstance(DEFAULT_SIZE, DEFAULT_SIZE, Image.SCALE_SMOOTH));
-        } catch (IOException | NullPointerException e) {
-            e.printStackTrace();
-        }
+        this.iconPath = iconPath;
     }
     
     /**
@@ -100,10 +83,10 @@ public abstract class Upgrade {
     }
     
     /**
-     * Get the power-up icon
+     * Get the path to the power-up icon in assets
      */
-    public ImageIcon getIcon() {
-        return icon;
+    public String getIconPath() {
+        return iconPath;
     }
     
     /**
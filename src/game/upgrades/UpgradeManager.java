@@ -1,42 +1,51 @@
 package game.upgrades;
 
-import java.awt.*;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 import board.Board;
-import board.BoardPanel;
-import game.GameWindow;
+import game.GameClock;
+import game.GameListener;
 import game.pacman.Pacman;
 
-
+/**
+ * Spawns, collects and times the power-ups on one board, stored by cell.
+ */
 public class UpgradeManager {
 
-    private List<Upgrade> upgrades = new ArrayList<>();
+    private final Upgrade[] upgradeAt;
+    private final int[] liveSlotOfCell;
+    private int[] liveCells = new int[8];
+    private int liveCount = 0;
 
-    private Map<Upgrade, Long> activeEffects = new HashMap<>();
+    private final EffectTimers activeEffects = new EffectTimers();
     
     private final Board board;
-    private final Random random = new Random();
-    private BoardPanel boardPanel;
+    private final GameClock clock;
+    private final SplittableRandom random;
+    private GameListener listener = GameListener.NONE;
 
-    public UpgradeManager(Board board) {
+    public UpgradeManager(Board board, GameClock clock, SplittableRandom random) {
         this.board = board;
+        this.clock = clock;
+        this.random = random;
+
+        upgradeAt = new Upgrade[board.getWidth() * board.getHeight()];
+        liveSlotOfCell = new int[upgradeAt.length];
+    }
+
+    private int cellOf(int row, int col) {
+        if (row < 0 || row >= board.getHeight() || col < 0 || col >= board.getWidth()) return -1;
+        return row * board.getWidth() + col;
     }
 
-    public void setBoardPanel(BoardPanel boardPanel) {
-        this.boardPanel = boardPanel;
+    public void setListener(GameListener listener) {
+        this.listener = listener;
     }
 
     public void createPowerUp(int row, int col) {
-        for (Upgrade upgrade : upgrades) {
-            if (!upgrade.isCollected() && upgrade.getRow() == row && upgrade.getCol() == col) {
-                return;
-            }
-        }
+        int cell = cellOf(row, col);
+        if (cell < 0 || upgradeAt[cell] != null) return;
 
         Upgrade upgrade;
         int powerUpType = random.nextInt(4);
@@ -49,77 +58,61 @@ public class UpgradeManager {
             default -> new SpeedBoost(row, col);
         };
 
-        upgrades.add(upgrade);
+        upgradeAt[cell] = upgrade;
+        board.placeUpgrade(row, col);
+        if (liveCount == liveCells.length) liveCells = Arrays.copyOf(liveCells, liveCount * 2);
+        liveSlotOfCell[cell] = liveCount;
+        liveCells[liveCount++] = cell;
 
-        boardPanel.addUpgrade(row, col, upgrade);
+        listener.upgradeAdded(upgrade);
     }
 
     public Upgrade checkPowerUpCollection(Pacman pacman) {
-        int playerRow = pacman.getRow();
-        int playerCol = pacman.getCol();
-        Upgrade collectedUpgrade = null;
-        
-        for (Upgrade upgrade : upgrades) {
-            if (!upgrade.isCollected() && upgrade.getRow() == playerRow && upgrade.getCol() == playerCol) {
-                upgrade.setCollected(true);
-                collectedUpgrade = upgrade;
-                
-                // Remove from board panel
-                if (boardPanel != null) {
-                    boardPanel.removeUpgrade(upgrade.getRow(), upgrade.getCol());
-                }
-                
-                break;
-            }
-        }
-        
-        return collectedUpgrade;
+        int cell = cellOf(pacman.getRow(), pacman.getCol());
+        if (cell < 0) return null;
+
+        Upgrade upgrade = upgradeAt[cell];
+        if (upgrade == null) return null;
+
+        upgradeAt[cell] = null;
+        board.removeUpgrade(pacman.getRow(), pacman.getCol());
+        int slot = liveSlotOfCell[cell];
+        int lastCell = liveCells[--liveCount];
+        liveCells[slot] = lastCell;
+        liveSlotOfCell[lastCell] = slot;
+
+        upgrade.setCollected(true);
+        listener.upgradeRemoved(upgrade);
+
+        return upgrade;
     }
 
-    public void activatePowerUp(Upgrade upgrade, Pacman pacman) {
-        if (upgrade.applyEffect(pacman)) {
-            if (upgrade.getDuration() > 0) {
-                long expirationTime = System.currentTimeMillis() + upgrade.getDuration();
-                activeEffects.put(upgrade, expirationTime);
-            }
-
-            if (upgrade instanceof HealthRestore && boardPanel != null) {
-                Component parent = boardPanel;
-                while (parent != null && !(parent instanceof GameWindow)) {
-                    parent = parent.getParent();
-                }
-                
-                if (parent != null) {
-                    ((GameWindow) parent).updateLivesDisplay(pacman.getLives());
-                }
-            }
+    // A running effect of the same kind has its timer extended instead
+    public void activatePowerUp(Upgrade upgrade) {
+        if (upgrade.getDuration() > 0) {
+            activeEffects.start(upgrade, clock.currentTimeMillis() + upgrade.getDuration());
         }
     }
-    
+
     public void updateActiveEffects(Pacman pacman, long currentTime) {
-        for (Map.Entry<Upgrade, Long> entry : new HashMap<>(activeEffects).entrySet()) {
-            Upgrade upgrade = entry.getKey();
-            long expirationTime = entry.getValue();
-            
-            if (currentTime >= expirationTime) {
-                upgrade.removeEffect(pacman);
-                activeEffects.remove(upgrade);
-            }
+        Upgrade expired;
+        while ((expired = activeEffects.pollExpired(currentTime)) != null) {
+            expired.removeEffect(pacman);
         }
     }
 
     public void removeAllUpgrades() {
-        List<Upgrade> upgradesToRemove = new ArrayList<>(upgrades);
-        
-        for (Upgrade upgrade : upgradesToRemove) {
-            if (!upgrade.isCollected()) {
-                int row = upgrade.getRow();
-                int col = upgrade.getCol();
-
-                boardPanel.removeUpgrade(row, col);
-            }
+        for (int i = 0; i < liveCount; i++) {
+            int cell = liveCells[i];
+            listener.upgradeRemoved(upgradeAt[cell]);
+            upgradeAt[cell] = null;
         }
 
-        upgrades.clear();
+        liveCount = 0;
+        board.removeAllUpgrades();
+    }
+
+    public int getUpgradeCount() {
+        return liveCount;
     }
 }
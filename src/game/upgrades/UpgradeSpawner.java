@@ -1,98 +1,41 @@
 package game.upgrades;
 
-import java.util.List;
-import java.util.Random;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.SplittableRandom;
 
 import board.Board;
-import game.ghosts.Ghost;
 import game.ghosts.GhostState;
+import game.ghosts.GhostStore;
 
 public class UpgradeSpawner implements Runnable {
 
-    private static final long SPAWN_CHECK_INTERVAL = 5000;
+    public static final long SPAWN_CHECK_INTERVAL = 5000;
     private static final float SPAWN_PROBABILITY = 0.25f;
 
-    private final AtomicBoolean running = new AtomicBoolean(false);
-    private final AtomicBoolean paused = new AtomicBoolean(false);
-    private Thread spawnerThread;
-
-    private final List<Ghost> ghosts;
+    private final GhostStore ghosts;
     private final UpgradeManager upgradeManager;
     private final Board board;
-    private final Random random = new Random();
+    private final SplittableRandom random;
 
-    public UpgradeSpawner(List<Ghost> ghosts, UpgradeManager upgradeManager, Board board) {
+    public UpgradeSpawner(GhostStore ghosts, UpgradeManager upgradeManager, Board board, SplittableRandom random) {
         this.ghosts = ghosts;
         this.upgradeManager = upgradeManager;
         this.board = board;
+        this.random = random;
     }
 
-    public void start() {
-        if (running.get()) {
-            return;
-        }
-        
-        running.set(true);
-        spawnerThread = new Thread(this);
-        spawnerThread.setDaemon(true);
-        spawnerThread.start();
-    }
-
-    public void stop() {
-        running.set(false);
-        if (spawnerThread != null) {
-            try {
-                spawnerThread.join(500);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
-    }
-
-    public synchronized void pause() {
-        paused.set(true);
-    }
-
-    public synchronized void resume() {
-        paused.set(false);
-        notifyAll();
-    }
-    
     @Override
     public void run() {
-        while (running.get()) {
-            synchronized (this) {
-                while (paused.get()) {
-                    try {
-                        wait();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        return;
-                    }
-                }
-            }
-
-            for (Ghost ghost : ghosts) {
-                trySpawnPowerUp(ghost);
-            }
-
-            try {
-                Thread.sleep(SPAWN_CHECK_INTERVAL);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
+        for (int i = 0; i < ghosts.getCount(); i++) {
+            trySpawnPowerUp(i);
         }
     }
-    
 
-    private void trySpawnPowerUp(Ghost ghost) {
-        GhostState state = ghost.getCurrentState();
+    private void trySpawnPowerUp(int ghost) {
+        GhostState state = ghosts.getState(ghost);
         if (state == GhostState.CHASE || state == GhostState.SCATTER) {
             if (random.nextFloat() < SPAWN_PROBABILITY) {
-                int row = ghost.getRow();
-                int col = ghost.getCol();
+                int row = ghosts.getRow(ghost);
+                int col = ghosts.getCol(ghost);
 
                 if (isValidPowerUpPosition(row, col)) {
                     createPowerUpAtPosition(row, col);
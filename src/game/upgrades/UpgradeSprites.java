@@ -0,0 +1,27 @@
+package game.upgrades;
+
+import game.AssetCache;
+import game.GamePanel;
+import game.Sprite;
+
+public class UpgradeSprites {
+    private static final int ICON_SIZE = GamePanel.CELL_SIZE - 8;
+
+    /** Scales every upgrade's icon into the {@link AssetCache} ahead of the first spawn. */
+    public static void preload() {
+        UpgradeSprites sprites = new UpgradeSprites();
+        for (Upgrade upgrade : new Upgrade[] {
+                new DoubleScore(0, 0), new GhostKiller(0, 0), new HealthRestore(0, 0), new SpeedBoost(0, 0)}) {
+            sprites.getIcon(upgrade);
+        }
+    }
+
+    public Sprite getIcon(Upgrade upgrade) {
+        try {
+            return AssetCache.getInstance().getSprite(upgrade.getIconPath(), ICON_SIZE);
+        } catch (IllegalArgumentException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
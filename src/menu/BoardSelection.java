@@ -1,8 +1,8 @@
 package menu;
 
 import board.Board;
-import board.BoardManager;
 import game.GameWindow;
+import game.StartupLoader;
 import utils.UIUtils;
 
 import javax.swing.*;
@@ -10,19 +10,31 @@ import java.awt.*;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class BoardSelection extends JFrame {
-    private final BoardManager boardManager;
+    private static final long serialVersionUID = 1L;
+    private static final Integer[] GENERATED_SIZES = {31, 61, 101, 251, 501};
+
+    private final StartupLoader loader;
+    private final List<JButton> buttons = new ArrayList<>();
     private boolean redirectToGame = false;
 
     public BoardSelection() {
+        this(StartupLoader.getInstance());
+    }
+
+    public BoardSelection(StartupLoader loader) {
         setTitle("Select Board Size");
-        setSize(400, 360);
+        setSize(400, 290 + 55 * Math.max(1, loader.getMapNames().size()));
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
         setLocationRelativeTo(null);
         setResizable(false);
 
-        boardManager = new BoardManager();
+        this.loader = loader;
         initialize();
 
         setVisible(true);
@@ -55,32 +67,104 @@ public class BoardSelection extends JFrame {
         centerPanel.add(label);
         centerPanel.add(Box.createVerticalStrut(25));
 
-        String[] buttonLabels = {"Small", "Medium", "Large"};
-        for (String text : buttonLabels) {
+        for (String mapName : loader.getMapNames()) {
+            String text = Character.toUpperCase(mapName.charAt(0)) + mapName.substring(1);
             JButton btn = UIUtils.createStyledButton(text, 22);
             btn.setPreferredSize(new Dimension(240, 40));
             btn.setMaximumSize(new Dimension(240, 40));
             btn.setAlignmentX(Component.CENTER_ALIGNMENT);
 
-            btn.addActionListener(createBoardSelectionListener(text.toLowerCase()));
+            btn.addActionListener(createBoardSelectionListener(mapName));
+            buttons.add(btn);
             
             centerPanel.add(btn);
             centerPanel.add(Box.createVerticalStrut(15));
         }
 
+        centerPanel.add(createGeneratorPanel());
+
         mainPanel.add(centerPanel, BorderLayout.CENTER);
 
         add(mainPanel);
     }
     
+    private JPanel createGeneratorPanel() {
+        JComboBox<Integer> size = new JComboBox<>(GENERATED_SIZES);
+        size.setToolTipText("Width and height of the generated maze");
+
+        JTextField seed = new JTextField("1", 8);
+        seed.setToolTipText("Any number or text; the same seed always gives the same maze");
+
+        JButton btn = UIUtils.createStyledButton("Generate", 18);
+        btn.setPreferredSize(new Dimension(110, 32));
+        btn.addActionListener(createBoardSelectionListener(
+                () -> loader.generateBoard((Integer) size.getSelectedItem(), parseSeed(seed.getText()))));
+        buttons.add(btn);
+
+        JLabel label = new JLabel("Seed");
+        label.setForeground(new Color(255, 200, 0));
+
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 8, 0));
+        panel.setBackground(Color.BLACK);
+        panel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        panel.setMaximumSize(new Dimension(360, 40));
+        panel.add(size);
+        panel.add(label);
+        panel.add(seed);
+        panel.add(btn);
+        return panel;
+    }
+
+    private static long parseSeed(String text) {
+        try {
+            return Long.parseLong(text.trim());
+        } catch (NumberFormatException e) {
+            return text.trim().hashCode();
+        }
+    }
+
     private ActionListener createBoardSelectionListener(String boardSize) {
+        return createBoardSelectionListener(() -> loader.getBoard(boardSize));
+    }
+
+    private ActionListener createBoardSelectionListener(Supplier<CompletableFuture<Board>> boardSource) {
         return e -> {
-            Board selectedBoard = boardManager.getBoard(boardSize);
+            StartupLoader.markGameRequested();
+            CompletableFuture<Board> board = boardSource.get();
 
-            redirectToGame = true;
-            dispose();
-            new GameWindow(selectedBoard);
+            if (board.isDone() && !board.isCompletedExceptionally()) {
+                startGame(board.getNow(null));
+                return;
+            }
+
+            // Wait off the event dispatch thread; a load that already failed goes to the same dialog
+            setLoading(true);
+            board.whenComplete((selectedBoard, error) -> SwingUtilities.invokeLater(() -> {
+                if (error != null) error.printStackTrace();
+                startGame(selectedBoard);
+            }));
         };
     }
+
+    private void startGame(Board selectedBoard) {
+        if (!isDisplayable()) return;
+
+        if (selectedBoard == null) {
+            setLoading(false);
+            JOptionPane.showMessageDialog(this, "This board could not be loaded.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        redirectToGame = true;
+        dispose();
+        new GameWindow(selectedBoard);
+    }
+
+    private void setLoading(boolean loading) {
+        for (JButton button : buttons) {
+            button.setEnabled(!loading);
+        }
+        setCursor(loading ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
 }
 
@@ -1,5 +1,6 @@
 package menu;
 
+import game.AssetCache;
 import score.Score;
 import score.ScoreManager;
 
@@ -10,6 +11,7 @@ import java.awt.event.WindowEvent;
 import java.util.List;
 
 public class HighScores extends JFrame {
+    private static final long serialVersionUID = 1L;
     private boolean redirectToMenu = true;
     private final Color GOLD = new Color(255, 200, 0);
     private JPanel statsPanel;
@@ -80,7 +82,7 @@ public class HighScores extends JFrame {
         noScores.setFont(new Font("SansSerif", Font.PLAIN, 18));
         noScores.setAlignmentX(Component.CENTER_ALIGNMENT);
         
-        JButton playBtn = new JButton("Play now", new ImageIcon(getClass().getResource("/assets/icons/play-icon.png")));
+        JButton playBtn = new JButton("Play now", AssetCache.getInstance().getIcon("/assets/icons/play-icon.png"));
         playBtn.setHorizontalTextPosition(SwingConstants.RIGHT);
         playBtn.setIconTextGap(10);
         playBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
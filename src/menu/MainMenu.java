@@ -1,5 +1,6 @@
 package menu;
 
+import game.StartupLoader;
 import utils.UIUtils;
 
 import javax.swing.*;
@@ -7,8 +8,10 @@ import java.awt.*;
 import java.awt.event.*;
 
 public class MainMenu extends JFrame {
+    private static final long serialVersionUID = 1L;
     private JButton newGameButton, highScoresButton, exitButton;
     private JLabel titleLabel;
+    private final StartupLoader loader;
 
     public MainMenu()
     {
@@ -21,6 +24,7 @@ public class MainMenu extends JFrame {
         initialize();
 
         setVisible(true);
+        loader = StartupLoader.getInstance();
     }
 
     private void initialize() {
@@ -37,7 +41,7 @@ public class MainMenu extends JFrame {
         exitButton = UIUtils.createStyledButton("Exit", 28);
 
         newGameButton.addActionListener(e -> {
-            new BoardSelection();
+            new BoardSelection(loader);
             dispose();
         });
 
@@ -10,6 +10,7 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 
 public class PauseMenu extends JDialog {
+    private static final long serialVersionUID = 1L;
     private final GameWindow gameWindow;
     
     public PauseMenu(GameWindow gameWindow) {
@@ -43,8 +43,10 @@ public class ScoreManager {
         }
         
         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(SCORES_FILE))) {
-            List<Score> loadedScores = (List<Score>) ois.readObject();
-            scores.addAll(loadedScores);
+            List<?> loadedScores = (List<?>) ois.readObject();
+            for (Object loaded : loadedScores) {
+                scores.add((Score) loaded);
+            }
 
             for (Score score : scores) {
                 updateBestScore(score);